@@ -6,6 +6,7 @@ DROP TABLE IF EXISTS accounts;
 DROP TABLE IF EXISTS customers;
 DROP TABLE IF EXISTS employees;
 DROP TABLE IF EXISTS account_signatories;
+DROP TABLE IF EXISTS interest_runs;
 
 -- 1. Customers Table WITH PASSWORD
 CREATE TABLE customers (
@@ -28,15 +29,15 @@ CREATE TABLE accounts (
     account_number VARCHAR(20) PRIMARY KEY,
     customer_id VARCHAR(20) NOT NULL,
     account_type VARCHAR(20) NOT NULL, -- 'SAVINGS', 'INVESTMENT', 'CHEQUE'
-    balance DECIMAL(15,2) DEFAULT 0.00,
+    balance INTEGER DEFAULT 0, -- thebe (1/100 Pula)
     interest_rate DECIMAL(5,4) DEFAULT 0.0000,
     branch VARCHAR(100),
     is_active BOOLEAN DEFAULT TRUE,
     opened_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    minimum_balance DECIMAL(15,2) DEFAULT 0.00,
+    minimum_balance INTEGER DEFAULT 0, -- thebe
 
     -- Investment account specific
-    initial_deposit DECIMAL(15,2) DEFAULT 0.00,
+    initial_deposit INTEGER DEFAULT 0, -- thebe
 
     -- Cheque account specific
     employer_name VARCHAR(100),
@@ -50,8 +51,8 @@ CREATE TABLE transactions (
     transaction_id INTEGER PRIMARY KEY AUTOINCREMENT,
     account_number VARCHAR(20) NOT NULL,
     transaction_type VARCHAR(20) NOT NULL, -- 'DEPOSIT', 'WITHDRAWAL', 'INTEREST'
-    amount DECIMAL(15,2) NOT NULL,
-    balance_after DECIMAL(15,2) NOT NULL,
+    amount INTEGER NOT NULL, -- thebe
+    balance_after INTEGER NOT NULL, -- thebe
     description VARCHAR(200),
     transaction_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
 
@@ -77,5 +78,87 @@ CREATE TABLE account_signatories (
     FOREIGN KEY (account_number) REFERENCES accounts(account_number)
 );
 
+-- One row per processed interest period, keeps monthly interest runs idempotent
+CREATE TABLE interest_runs (
+    period VARCHAR(7) PRIMARY KEY, -- e.g. '2025-01'
+    accounts_credited INTEGER NOT NULL,
+    total_interest INTEGER NOT NULL, -- thebe
+    run_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Secondary indexes for hot lookup paths.
+-- Keep in sync with INDEX_STATEMENTS in DatabaseConnection.java.
+CREATE INDEX idx_accounts_customer ON accounts(customer_id);
+CREATE INDEX idx_signatories_account ON account_signatories(account_number);
+CREATE INDEX idx_transactions_account_date ON transactions(account_number, transaction_date);
+CREATE INDEX idx_customers_type ON customers(customer_type);
+-- Must match CustomerDAO.DISPLAY_NAME_SQL exactly to be used
+CREATE INDEX idx_customers_name ON customers(
+    (CASE WHEN customer_type = 'COMPANY' THEN COALESCE(company_name, '') ELSE first_name || ' ' || last_name END) COLLATE NOCASE,
+    customer_id
+);
+
+-- Running totals for the dashboard, maintained by the triggers below.
+-- Keep in sync with RUNNING_TOTALS in DatabaseConnection.java.
+CREATE TABLE balance_totals (
+    account_type VARCHAR(20) NOT NULL,
+    branch VARCHAR(100) NOT NULL, -- 'Unknown' when accounts.branch is NULL
+    account_count INTEGER NOT NULL DEFAULT 0,
+    total_balance INTEGER NOT NULL DEFAULT 0, -- thebe
+    PRIMARY KEY (account_type, branch)
+);
+
+CREATE TABLE customer_totals (
+    customer_type VARCHAR(20) PRIMARY KEY,
+    customer_count INTEGER NOT NULL DEFAULT 0
+);
+
+CREATE TRIGGER trg_accounts_totals_insert AFTER INSERT ON accounts BEGIN
+    INSERT INTO balance_totals (account_type, branch, account_count, total_balance)
+    VALUES (NEW.account_type, COALESCE(NEW.branch, 'Unknown'), 1, NEW.balance)
+    ON CONFLICT (account_type, branch) DO UPDATE SET
+        account_count = account_count + 1, total_balance = total_balance + excluded.total_balance;
+END;
+
+CREATE TRIGGER trg_accounts_totals_balance AFTER UPDATE OF balance, account_type, branch ON accounts
+WHEN OLD.account_type IS NEW.account_type AND OLD.branch IS NEW.branch BEGIN
+    UPDATE balance_totals SET total_balance = total_balance + NEW.balance - OLD.balance
+    WHERE account_type = NEW.account_type AND branch = COALESCE(NEW.branch, 'Unknown');
+END;
+
+CREATE TRIGGER trg_accounts_totals_regroup AFTER UPDATE OF balance, account_type, branch ON accounts
+WHEN OLD.account_type IS NOT NEW.account_type OR OLD.branch IS NOT NEW.branch BEGIN
+    UPDATE balance_totals SET account_count = account_count - 1, total_balance = total_balance - OLD.balance
+    WHERE account_type = OLD.account_type AND branch = COALESCE(OLD.branch, 'Unknown');
+    INSERT INTO balance_totals (account_type, branch, account_count, total_balance)
+    VALUES (NEW.account_type, COALESCE(NEW.branch, 'Unknown'), 1, NEW.balance)
+    ON CONFLICT (account_type, branch) DO UPDATE SET
+        account_count = account_count + 1, total_balance = total_balance + excluded.total_balance;
+END;
+
+CREATE TRIGGER trg_accounts_totals_delete AFTER DELETE ON accounts BEGIN
+    UPDATE balance_totals SET account_count = account_count - 1, total_balance = total_balance - OLD.balance
+    WHERE account_type = OLD.account_type AND branch = COALESCE(OLD.branch, 'Unknown');
+END;
+
+CREATE TRIGGER trg_customers_totals_insert AFTER INSERT ON customers BEGIN
+    INSERT INTO customer_totals (customer_type, customer_count) VALUES (NEW.customer_type, 1)
+    ON CONFLICT (customer_type) DO UPDATE SET customer_count = customer_count + 1;
+END;
+
+CREATE TRIGGER trg_customers_totals_retype AFTER UPDATE OF customer_type ON customers
+WHEN OLD.customer_type IS NOT NEW.customer_type BEGIN
+    UPDATE customer_totals SET customer_count = customer_count - 1 WHERE customer_type = OLD.customer_type;
+    INSERT INTO customer_totals (customer_type, customer_count) VALUES (NEW.customer_type, 1)
+    ON CONFLICT (customer_type) DO UPDATE SET customer_count = customer_count + 1;
+END;
+
+CREATE TRIGGER trg_customers_totals_delete AFTER DELETE ON customers BEGIN
+    UPDATE customer_totals SET customer_count = customer_count - 1 WHERE customer_type = OLD.customer_type;
+END;
+
+-- Schema version 4: customer name index. Keep in sync with SCHEMA_VERSION.
+PRAGMA user_version = 4;
+
 -- Display confirmation
 SELECT 'Database tables created successfully!' as status;
\ No newline at end of file
@@ -6,12 +6,12 @@ import java.util.List;
 public abstract class Account implements Serializable {
     private static final long serialVersionUID = 1L;
     protected String accountNumber;
-    protected double balance;
+    protected Money balance;
     protected String branch;
     protected List<Transaction> transactions;
     protected List<String> signatories;
 
-    public Account(String accountNumber, double balance, String branch) {
+    public Account(String accountNumber, Money balance, String branch) {
         this.accountNumber = accountNumber;
         this.balance = balance;
         this.branch = branch;
@@ -19,19 +19,17 @@ public abstract class Account implements Serializable {
         this.signatories = new ArrayList<>();
     }
 
-    public void deposit(double amount) {
-        if (amount > 0) {
-            double oldBalance = balance;
-            balance += amount;
+    public void deposit(Money amount) {
+        if (amount.isPositive()) {
+            balance = balance.plus(amount);
             // FIXED: Use 5-argument Transaction constructor
             transactions.add(new Transaction(accountNumber, "DEPOSIT", amount, balance, "Deposit to account"));
         }
     }
 
-    public boolean withdraw(double amount) {
-        if (amount > 0 && balance >= amount) {
-            double oldBalance = balance;
-            balance -= amount;
+    public boolean withdraw(Money amount) {
+        if (amount.isPositive() && !balance.isLessThan(amount)) {
+            balance = balance.minus(amount);
             // FIXED: Use 5-argument Transaction constructor
             transactions.add(new Transaction(accountNumber, "WITHDRAWAL", amount, balance, "Withdrawal from account"));
             return true;
@@ -58,13 +56,13 @@ public abstract class Account implements Serializable {
     }
 
     public String getAccountNumber() { return accountNumber; }
-    public double getBalance() { return balance; }
+    public Money getBalance() { return balance; }
     public String getBranch() { return branch; }
     public List<Transaction> getTransactionHistory() { return transactions; }
 
     public abstract String getAccountType();
 
     public String getFormattedBalance() {
-        return String.format("P%.2f", balance);
+        return balance.toString();
     }
 }
\ No newline at end of file
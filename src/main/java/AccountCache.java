@@ -0,0 +1,167 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Shared, size-bounded cache of accounts keyed by account number, plus which
+// accounts each customer owns. Least recently used entries are evicted first.
+// Writers invalidate it after their commit; every change bumps a generation
+// counter so a read that raced with a write never caches the older row.
+// Callers always get their own copy, never the cached instance.
+public class AccountCache {
+
+    private final int maxSize;
+    private final LinkedHashMap<String, Account> accounts;
+    private final LinkedHashMap<String, List<String>> accountsByCustomer;
+
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public AccountCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        // accessOrder = true turns insertion order into least-recently-used order
+        this.accounts = new LinkedHashMap<String, Account>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Account> eldest) {
+                if (size() > AccountCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.accountsByCustomer = new LinkedHashMap<String, List<String>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                return size() > AccountCache.this.maxSize;
+            }
+        };
+    }
+
+    // === READS ===
+
+    // Taken before a database read; pass it back to put() so a stale row is dropped
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    public synchronized Account get(String accountNumber) {
+        Account cached = accounts.get(accountNumber);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copyOf(cached, cached.getBalance());
+    }
+
+    // Null unless the customer's account list and every one of its accounts is cached
+    public synchronized List<Account> getByCustomer(String customerId) {
+        List<String> accountNumbers = accountsByCustomer.get(customerId);
+        if (accountNumbers == null) {
+            misses++;
+            return null;
+        }
+        List<Account> result = new ArrayList<>(accountNumbers.size());
+        for (String accountNumber : accountNumbers) {
+            Account cached = accounts.get(accountNumber);
+            if (cached == null) {
+                misses++;
+                return null;
+            }
+            result.add(copyOf(cached, cached.getBalance()));
+        }
+        hits++;
+        return result;
+    }
+
+    // === FILLS (after a database read) ===
+
+    public synchronized void put(Account account, long readGeneration) {
+        if (account != null && readGeneration == generation) {
+            accounts.put(account.getAccountNumber(), copyOf(account, account.getBalance()));
+        }
+    }
+
+    public synchronized void putCustomerAccounts(String customerId, Collection<Account> customerAccounts,
+                                                 long readGeneration) {
+        if (readGeneration != generation) {
+            return;
+        }
+        List<String> accountNumbers = new ArrayList<>(customerAccounts.size());
+        for (Account account : customerAccounts) {
+            accounts.put(account.getAccountNumber(), copyOf(account, account.getBalance()));
+            accountNumbers.add(account.getAccountNumber());
+        }
+        accountsByCustomer.put(customerId, accountNumbers);
+    }
+
+    // === WRITES (after the database commit) ===
+
+    // Postings invalidate rather than write their balance through: two commits
+    // to one account can reach the cache in either order, so only a reload
+    // is sure to see the latest balance
+    public synchronized void invalidate(String accountNumber) {
+        generation++;
+        accounts.remove(accountNumber);
+    }
+
+    // A customer gained or lost an account
+    public synchronized void invalidateCustomer(String customerId) {
+        generation++;
+        accountsByCustomer.remove(customerId);
+    }
+
+    // A customer was deleted: drop their account list and every one of their
+    // accounts, listed or cached on its own
+    public synchronized void invalidateCustomerAccounts(String customerId, Collection<String> accountNumbers) {
+        generation++;
+        List<String> listed = accountsByCustomer.remove(customerId);
+        if (listed != null) {
+            for (String accountNumber : listed) {
+                accounts.remove(accountNumber);
+            }
+        }
+        for (String accountNumber : accountNumbers) {
+            accounts.remove(accountNumber);
+        }
+    }
+
+    // For set-based updates that touch many accounts at once
+    public synchronized void invalidateAll() {
+        generation++;
+        accounts.clear();
+        accountsByCustomer.clear();
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, accounts.size(), maxSize);
+    }
+
+    // Only the columns AccountDAO loads are copied; the in-memory transaction
+    // list is not part of the cached state
+    private static Account copyOf(Account account, Money balance) {
+        Account copy;
+        if (account instanceof SavingsAccount) {
+            copy = new SavingsAccount(account.getAccountNumber(), balance, account.getBranch());
+        } else if (account instanceof InvestmentAccount) {
+            copy = new InvestmentAccount(account.getAccountNumber(), balance, account.getBranch());
+        } else if (account instanceof ChequeAccount) {
+            ChequeAccount cheque = (ChequeAccount) account;
+            copy = new ChequeAccount(account.getAccountNumber(), balance, account.getBranch(),
+                    cheque.getEmployerName(), cheque.getEmployerAddress());
+        } else {
+            throw new IllegalArgumentException("Unknown account class: " + account.getClass().getName());
+        }
+        for (String signatory : account.getSignatories()) {
+            copy.addSignatory(signatory);
+        }
+        return copy;
+    }
+}
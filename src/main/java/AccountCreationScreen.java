@@ -8,15 +8,19 @@ import java.util.List;
 
 
 public class AccountCreationScreen {
+
+    private static final Log LOG = Log.get("ui.account");
+
     private Scene scene;
     private NavigationController navigationController;
     private BankingSystem bankingSystem;
     private List<TextField> signatoryFields;
     private CustomerDAO customerDAO;
     private AccountDAO accountDAO;
+    private ScreenTasks tasks;
 
     // Form fields
-    private ComboBox<String> customerComboBox;
+    private CustomerPicker customerPicker;
     private ComboBox<String> accountTypeComboBox;
     private TextField branchField;
     private TextField initialDepositField;
@@ -32,6 +36,7 @@ public class AccountCreationScreen {
         this.signatoryFields = new ArrayList<>();
         this.customerDAO = new CustomerDAO();
         this.accountDAO = new AccountDAO();
+        this.tasks = navigationController.getScreenTasks();
         createUI();
     }
 
@@ -130,7 +135,7 @@ public class AccountCreationScreen {
         submitButton.getStyleClass().addAll("btn", "btn-success");
         submitButton.setPrefHeight(45);
         submitButton.setMaxWidth(Double.MAX_VALUE);
-        submitButton.setOnAction(e -> createAccount());
+        submitButton.setOnAction(e -> createAccount(submitButton));
 
         formContainer.getChildren().addAll(
                 formTitle, customerSelection, accountTypeSelection, commonFields,
@@ -150,26 +155,13 @@ public class AccountCreationScreen {
         Label customerLabel = new Label("Select Customer:");
         customerLabel.getStyleClass().add("form-label");
 
-        customerComboBox = new ComboBox<>();
-        customerComboBox.getStyleClass().add("form-field");
-        loadCustomers();
+        // Loads customers a page at a time as the user types or scrolls
+        customerPicker = new CustomerPicker(customerDAO, tasks);
 
-        customerBox.getChildren().addAll(customerLabel, customerComboBox);
+        customerBox.getChildren().addAll(customerLabel, customerPicker);
         return customerBox;
     }
 
-    private void loadCustomers() {
-        try {
-            List<Customer> customers = customerDAO.getAllCustomers();
-            customerComboBox.getItems().clear();
-            for (Customer customer : customers) {
-                customerComboBox.getItems().add(customer.getCustomerId() + " - " + customer.getDisplayName());
-            }
-        } catch (Exception e) {
-            System.out.println("Error loading customers: " + e.getMessage());
-        }
-    }
-
     private VBox createAccountTypeSelection() {
         VBox typeBox = new VBox(10);
 
@@ -295,24 +287,16 @@ public class AccountCreationScreen {
         chequeFields.setVisible(selectedType.equals("Cheque Account"));
     }
 
-    private void createAccount() {
+    private void createAccount(Button submitButton) {
         try {
             // Validate customer selection
-            if (customerComboBox.getValue() == null) {
+            CustomerSummary selectedCustomer = customerPicker.getSelectedCustomer();
+            if (selectedCustomer == null) {
                 showAlert(Alert.AlertType.ERROR, "Error", "Please select a customer.");
                 return;
             }
 
-            // Extract customer ID from selection
-            String customerSelection = customerComboBox.getValue();
-            String customerId = customerSelection.split(" - ")[0];
-
-            // Get customer from database
-            Customer customer = customerDAO.getCustomerById(customerId);
-            if (customer == null) {
-                showAlert(Alert.AlertType.ERROR, "Error", "Selected customer not found.");
-                return;
-            }
+            String customerId = selectedCustomer.getCustomerId();
 
             // Validate required fields
             if (branchField.getText().isEmpty()) {
@@ -329,9 +313,8 @@ public class AccountCreationScreen {
                 }
             }
 
-            // Create account in database
-            boolean success = createAccountInDatabase(
-                    customer,
+            // Form checks run here; null means an alert was already shown
+            Account account = buildAccount(
                     accountTypeComboBox.getValue(),
                     branchField.getText(),
                     initialDepositField.getText(),
@@ -339,35 +322,52 @@ public class AccountCreationScreen {
                     employerAddressField.getText(),
                     signatories
             );
+            if (account == null) {
+                return;
+            }
 
-            if (success) {
+            // The customer lookup and the inserts run on the database writer;
+            // the result is null on success, otherwise the message to show
+            submitButton.setDisable(true);
+            tasks.onFx(tasks.write(() -> {
+                if (customerDAO.getCustomerById(customerId) == null) {
+                    return "Selected customer not found.";
+                }
+                return saveAccount(account, customerId) ? null : "Failed to create account.";
+            }), problem -> {
+                submitButton.setDisable(false);
+                if (problem != null) {
+                    showAlert(Alert.AlertType.ERROR, "Error", problem);
+                    return;
+                }
                 showAlert(Alert.AlertType.INFORMATION, "Success",
-                        "Account created successfully for " + customer.getDisplayName() + "!");
+                        "Account created successfully for " + selectedCustomer.getDisplayName() + "!");
                 navigationController.showEmployeeDashboard();
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Error", "Failed to create account.");
-            }
+            }, error -> {
+                submitButton.setDisable(false);
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to create account: " + error.getMessage());
+                LOG.error("Failed to create account: " + error.getMessage(), error);
+            });
 
         } catch (Exception e) {
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to create account: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to create account: " + e.getMessage(), e);
         }
     }
 
-    private boolean createAccountInDatabase(Customer customer, String accountType, String branch,
-                                            String initialDepositStr, String employerName,
-                                            String employerAddress, List<String> signatories) {
+    private Account buildAccount(String accountType, String branch, String initialDepositStr,
+                                 String employerName, String employerAddress, List<String> signatories) {
         try {
             // Generate account number
             String accountNumber = generateAccountNumber();
-            double initialDeposit = 0.0;
+            Money initialDeposit = Money.ZERO;
 
             // Parse initial deposit
             if (!initialDepositStr.isEmpty()) {
-                initialDeposit = Double.parseDouble(initialDepositStr);
-                if (initialDeposit < 0) {
+                initialDeposit = Money.parse(initialDepositStr);
+                if (initialDeposit.isNegative()) {
                     showAlert(Alert.AlertType.ERROR, "Error", "Initial deposit cannot be negative.");
-                    return false;
+                    return null;
                 }
             }
 
@@ -378,10 +378,10 @@ public class AccountCreationScreen {
             switch (cleanAccountType) {
                 case "INVESTMENT":
                     // Validate investment account requirements
-                    if (initialDeposit < 500.00) {
+                    if (initialDeposit.isLessThan(Money.ofPula(500))) {
                         showAlert(Alert.AlertType.ERROR, "Error",
                                 "Investment accounts require minimum initial deposit of P500.00");
-                        return false;
+                        return null;
                     }
                     account = new InvestmentAccount(accountNumber, initialDeposit, branch);
                     break;
@@ -400,15 +400,25 @@ public class AccountCreationScreen {
             for (String signatory : signatories) {
                 account.addSignatory(signatory);
             }
+            return account;
 
-            // Save to database
-            boolean success = accountDAO.createAccount(account, customer.getCustomerId());
+        } catch (NumberFormatException e) {
+            showAlert(Alert.AlertType.ERROR, "Error", "Invalid initial deposit amount. Please enter a number with at most 2 decimal places.");
+            return null;
+        }
+    }
+
+    // Runs on the database writer thread
+    private boolean saveAccount(Account account, String customerId) {
+        try {
+            boolean success = accountDAO.createAccount(account, customerId);
 
-            if (success && initialDeposit > 0) {
+            Money initialDeposit = account.getBalance();
+            if (success && initialDeposit.isPositive()) {
                 // Record initial deposit transaction
                 TransactionDAO transactionDAO = new TransactionDAO();
                 Transaction initialTransaction = new Transaction(
-                        accountNumber,
+                        account.getAccountNumber(),
                         "DEPOSIT",
                         initialDeposit,
                         initialDeposit,
@@ -419,11 +429,8 @@ public class AccountCreationScreen {
 
             return success;
 
-        } catch (NumberFormatException e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Invalid initial deposit amount. Please enter numbers only.");
-            return false;
         } catch (Exception e) {
-            System.out.println("Error creating account in database: " + e.getMessage());
+            LOG.error("Error creating account in database: " + e.getMessage());
             return false;
         }
     }
@@ -1,9 +1,21 @@
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class AccountDAO {
 
+    private static final Log LOG = Log.get("dao.account");
+
+    // Shared by every AccountDAO instance, sized with -Dbanking.cache.accounts.maxSize
+    private static final AccountCache CACHE =
+            new AccountCache(Integer.getInteger("banking.cache.accounts.maxSize", 10_000));
+
+    public static AccountCache getCache() {
+        return CACHE;
+    }
+
     // Create new account - now requires customerId as parameter
     public boolean createAccount(Account account, String customerId) {
         String sql = "INSERT INTO accounts (account_number, customer_id, account_type, balance, interest_rate, branch, initial_deposit, employer_name, employer_address) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
@@ -14,7 +26,7 @@ public class AccountDAO {
             pstmt.setString(1, account.getAccountNumber());
             pstmt.setString(2, customerId);
             pstmt.setString(3, getAccountType(account));
-            pstmt.setDouble(4, account.getBalance());
+            pstmt.setLong(4, account.getBalance().getThebe());
 
             // Set default interest rates based on account type
             double interestRate = getDefaultInterestRate(account);
@@ -25,16 +37,16 @@ public class AccountDAO {
             // Handle different account types
             if (account instanceof InvestmentAccount) {
                 // For investment accounts, use balance as initial deposit
-                pstmt.setDouble(7, account.getBalance());
+                pstmt.setLong(7, account.getBalance().getThebe());
                 pstmt.setString(8, null);
                 pstmt.setString(9, null);
             } else if (account instanceof ChequeAccount) {
                 ChequeAccount chequeAccount = (ChequeAccount) account;
-                pstmt.setDouble(7, 0.00);
+                pstmt.setLong(7, 0L);
                 pstmt.setString(8, chequeAccount.getEmployerName());
                 pstmt.setString(9, chequeAccount.getEmployerAddress());
             } else {
-                pstmt.setDouble(7, 0.00);
+                pstmt.setLong(7, 0L);
                 pstmt.setString(8, null);
                 pstmt.setString(9, null);
             }
@@ -50,152 +62,104 @@ public class AccountDAO {
 
                 // Add default signatory
                 addSignatory(account.getAccountNumber(), defaultSignatory);
-                System.out.println("✅ Added default signatory: " + defaultSignatory);
+                LOG.debug(() -> "Added default signatory: " + defaultSignatory);
 
                 // Also add to the account object for immediate use
                 account.addSignatory(defaultSignatory);
+                CACHE.invalidateCustomer(customerId);
             }
 
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.out.println("Error creating account: " + e.getMessage());
+            LOG.error("Error creating account: " + e.getMessage());
             return false;
         }
     }
 
     // FIXED: Get account by account number - REMOVED is_active filter
     public Account getAccountByNumber(String accountNumber) {
-        String sql = "SELECT * FROM accounts WHERE account_number = ?"; // Removed AND is_active = TRUE
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, accountNumber);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                String accountType = rs.getString("account_type");
-                double balance = rs.getDouble("balance");
-                String branch = rs.getString("branch");
-
-                Account account = null;
-                switch (accountType) {
-                    case "SAVINGS":
-                        account = new SavingsAccount(accountNumber, balance, branch);
-                        break;
-                    case "INVESTMENT":
-                        account = new InvestmentAccount(accountNumber, balance, branch);
-                        break;
-                    case "CHEQUE":
-                        String employerName = rs.getString("employer_name");
-                        String employerAddress = rs.getString("employer_address");
-                        account = new ChequeAccount(accountNumber, balance, branch, employerName, employerAddress);
-                        break;
-                    default:
-                        System.out.println("Unknown account type: " + accountType);
-                        return null;
-                }
-
-                // Load signatories for the account
-                if (account != null) {
-                    List<String> signatories = getSignatories(accountNumber);
-                    for (String signatory : signatories) {
-                        account.addSignatory(signatory);
-                    }
-
-                    // FIXED: If no signatories found, add a default one
-                    if (signatories.isEmpty()) {
-                        String customerId = getCustomerIdForAccount(accountNumber);
-                        if (customerId != null) {
-                            CustomerDAO customerDAO = new CustomerDAO();
-                            Customer customer = customerDAO.getCustomerById(customerId);
-                            String defaultSignatory = customer != null ? customer.getDisplayName() : "Account Owner";
-                            account.addSignatory(defaultSignatory);
-                            System.out.println("✅ Added default signatory to existing account: " + defaultSignatory);
-                        }
-                    }
-                }
+        Account cached = CACHE.get(accountNumber);
+        if (cached != null) {
+            return cached;
+        }
 
-                return account;
+        long generation = CACHE.currentGeneration();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            List<Account> accounts = hydrateAccounts(conn,
+                    " WHERE a.account_number = ?",
+                    " WHERE s.account_number = ?",
+                    accountNumber);
+            if (accounts.isEmpty()) {
+                return null;
             }
+            CACHE.put(accounts.get(0), generation);
+            return accounts.get(0);
 
         } catch (SQLException e) {
-            System.out.println("Error getting account: " + e.getMessage());
+            LOG.error("Error getting account: " + e.getMessage());
         }
         return null;
     }
 
     // FIXED: Get all accounts for a customer - REMOVED is_active filter
     public List<Account> getAccountsByCustomer(String customerId) {
-        List<Account> accounts = new ArrayList<>();
-        String sql = "SELECT * FROM accounts WHERE customer_id = ?"; // Removed AND is_active = TRUE
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, customerId);
-            ResultSet rs = pstmt.executeQuery();
+        List<Account> cached = CACHE.getByCustomer(customerId);
+        if (cached != null) {
+            return cached;
+        }
 
-            while (rs.next()) {
-                Account account = getAccountByNumber(rs.getString("account_number"));
-                if (account != null) {
-                    accounts.add(account);
-                }
-            }
+        long generation = CACHE.currentGeneration();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            List<Account> accounts = hydrateAccounts(conn,
+                    " WHERE a.customer_id = ?",
+                    " JOIN accounts a ON a.account_number = s.account_number WHERE a.customer_id = ?",
+                    customerId);
+            CACHE.putCustomerAccounts(customerId, accounts, generation);
+            return accounts;
 
         } catch (SQLException e) {
-            System.out.println("Error getting customer accounts: " + e.getMessage());
+            LOG.error("Error getting customer accounts: " + e.getMessage());
         }
-        return accounts;
+        return new ArrayList<>();
     }
 
     // FIXED: Update account balance - REMOVED is_active filter
-    public boolean updateAccountBalance(String accountNumber, double newBalance) {
+    public boolean updateAccountBalance(String accountNumber, Money newBalance) {
         String sql = "UPDATE accounts SET balance = ? WHERE account_number = ?"; // Removed AND is_active = TRUE
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setDouble(1, newBalance);
+            pstmt.setLong(1, newBalance.getThebe());
             pstmt.setString(2, accountNumber);
 
             int rowsAffected = pstmt.executeUpdate();
 
             if (rowsAffected > 0) {
-                System.out.println("✅ Balance updated successfully: " + accountNumber + " -> " + newBalance);
+                CACHE.invalidate(accountNumber);
+                LOG.debug(() -> "Balance updated: " + accountNumber + " -> " + newBalance);
                 return true;
             } else {
-                System.out.println("❌ No rows affected when updating balance for: " + accountNumber);
+                LOG.warn("No rows affected when updating balance for: " + accountNumber);
                 return false;
             }
 
         } catch (SQLException e) {
-            System.out.println("Error updating account balance: " + e.getMessage());
+            LOG.error("Error updating account balance: " + e.getMessage());
             return false;
         }
     }
 
     // FIXED: Get all accounts (for employee view) - REMOVED is_active filter
     public List<Account> getAllAccounts() {
-        List<Account> accounts = new ArrayList<>();
-        String sql = "SELECT * FROM accounts"; // Removed WHERE is_active = TRUE
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                Account account = getAccountByNumber(rs.getString("account_number"));
-                if (account != null) {
-                    accounts.add(account);
-                }
-            }
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return hydrateAccounts(conn, "", "", null);
 
         } catch (SQLException e) {
-            System.out.println("Error getting all accounts: " + e.getMessage());
+            LOG.error("Error getting all accounts: " + e.getMessage());
         }
-        return accounts;
+        return new ArrayList<>();
     }
 
     // FIXED: Get customer ID for an account - REMOVED is_active filter
@@ -213,11 +177,30 @@ public class AccountDAO {
             }
 
         } catch (SQLException e) {
-            System.out.println("Error getting customer ID for account: " + e.getMessage());
+            LOG.error("Error getting customer ID for account: " + e.getMessage());
         }
         return null;
     }
 
+    // Owner of every account in one query, for screens that list all accounts
+    public Map<String, String> getCustomerIdsByAccount() {
+        Map<String, String> owners = new HashMap<>();
+        String sql = "SELECT account_number, customer_id FROM accounts";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                owners.put(rs.getString("account_number"), rs.getString("customer_id"));
+            }
+
+        } catch (SQLException e) {
+            LOG.error("Error getting account owners: " + e.getMessage());
+        }
+        return owners;
+    }
+
     // === SIGNATORY MANAGEMENT METHODS ===
 
     private void saveSignatories(String accountNumber, List<String> signatories) {
@@ -235,7 +218,7 @@ public class AccountDAO {
             pstmt.executeBatch();
 
         } catch (SQLException e) {
-            System.out.println("Error saving signatories: " + e.getMessage());
+            LOG.error("Error saving signatories: " + e.getMessage());
         }
     }
 
@@ -254,7 +237,7 @@ public class AccountDAO {
             }
 
         } catch (SQLException e) {
-            System.out.println("Error getting signatories: " + e.getMessage());
+            LOG.error("Error getting signatories: " + e.getMessage());
         }
         return signatories;
     }
@@ -269,10 +252,11 @@ public class AccountDAO {
             pstmt.setString(2, signatoryName);
 
             int rowsAffected = pstmt.executeUpdate();
+            CACHE.invalidate(accountNumber);
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.out.println("Error adding signatory: " + e.getMessage());
+            LOG.error("Error adding signatory: " + e.getMessage());
             return false;
         }
     }
@@ -287,10 +271,11 @@ public class AccountDAO {
             pstmt.setString(2, signatoryName);
 
             int rowsAffected = pstmt.executeUpdate();
+            CACHE.invalidate(accountNumber);
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.out.println("Error removing signatory: " + e.getMessage());
+            LOG.error("Error removing signatory: " + e.getMessage());
             return false;
         }
     }
@@ -304,27 +289,117 @@ public class AccountDAO {
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                System.out.println("🔍 ACCOUNT DEBUG INFO:");
-                System.out.println("Account Number: " + rs.getString("account_number"));
-                System.out.println("Customer ID: " + rs.getString("customer_id"));
-                System.out.println("Account Type: " + rs.getString("account_type"));
-                System.out.println("Balance: " + rs.getDouble("balance"));
-                System.out.println("Branch: " + rs.getString("branch"));
+                StringBuilder info = new StringBuilder("Account debug info:");
+                info.append("\nAccount Number: ").append(rs.getString("account_number"));
+                info.append("\nCustomer ID: ").append(rs.getString("customer_id"));
+                info.append("\nAccount Type: ").append(rs.getString("account_type"));
+                info.append("\nBalance: ").append(Money.format(rs.getLong("balance")));
+                info.append("\nBranch: ").append(rs.getString("branch"));
 
                 // Check if is_active column exists
                 try {
-                    boolean isActive = rs.getBoolean("is_active");
-                    System.out.println("Is Active: " + isActive);
+                    info.append("\nIs Active: ").append(rs.getBoolean("is_active"));
                 } catch (SQLException e) {
-                    System.out.println("is_active column not found in database");
+                    info.append("\nis_active column not found in database");
                 }
+                LOG.info(info.toString());
             } else {
-                System.out.println("❌ Account not found: " + accountNumber);
+                LOG.info("Account not found: " + accountNumber);
             }
 
         } catch (SQLException e) {
-            System.out.println("Debug error: " + e.getMessage());
+            LOG.error("Debug error: " + e.getMessage());
+        }
+    }
+
+    // === BULK HYDRATION ===
+
+    // Account columns plus the owner's name, used for the default signatory
+    private static final String ACCOUNT_SELECT =
+            "SELECT a.account_number, a.customer_id, a.account_type, a.balance, a.branch, " +
+                    "a.employer_name, a.employer_address, " +
+                    "c.customer_id AS owner_id, c.customer_type, c.first_name, c.last_name, c.company_name " +
+                    "FROM accounts a LEFT JOIN customers c ON c.customer_id = a.customer_id";
+
+    private static final String SIGNATORY_SELECT =
+            "SELECT s.account_number, s.signatory_name FROM account_signatories s";
+
+    // Loads accounts with one accounts query and one signatories query on the
+    // same connection, instead of several lookups per account
+    private List<Account> hydrateAccounts(Connection conn, String accountFilter,
+                                          String signatoryFilter, String param) throws SQLException {
+        Map<String, List<String>> signatoriesByAccount = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(SIGNATORY_SELECT + signatoryFilter + " ORDER BY s.id")) {
+            if (param != null) {
+                pstmt.setString(1, param);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    signatoriesByAccount
+                            .computeIfAbsent(rs.getString(1), k -> new ArrayList<>())
+                            .add(rs.getString(2));
+                }
+            }
+        }
+
+        List<Account> accounts = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(ACCOUNT_SELECT + accountFilter)) {
+            if (param != null) {
+                pstmt.setString(1, param);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Account account = mapAccount(rs);
+                    if (account == null) {
+                        continue;
+                    }
+
+                    List<String> signatories = signatoriesByAccount.get(account.getAccountNumber());
+                    if (signatories != null) {
+                        for (String signatory : signatories) {
+                            account.addSignatory(signatory);
+                        }
+                    } else if (rs.getString("customer_id") != null) {
+                        // FIXED: If no signatories found, add a default one
+                        account.addSignatory(ownerDisplayName(rs));
+                    }
+                    accounts.add(account);
+                }
+            }
+        }
+        return accounts;
+    }
+
+    // Also used by StatementBatchJob, which reads accounts with its own range queries
+    static Account mapAccount(ResultSet rs) throws SQLException {
+        String accountNumber = rs.getString("account_number");
+        String accountType = rs.getString("account_type");
+        Money balance = Money.ofThebe(rs.getLong("balance"));
+        String branch = rs.getString("branch");
+
+        switch (accountType) {
+            case "SAVINGS":
+                return new SavingsAccount(accountNumber, balance, branch);
+            case "INVESTMENT":
+                return new InvestmentAccount(accountNumber, balance, branch);
+            case "CHEQUE":
+                return new ChequeAccount(accountNumber, balance, branch,
+                        rs.getString("employer_name"), rs.getString("employer_address"));
+            default:
+                LOG.warn("Unknown account type: " + accountType);
+                return null;
+        }
+    }
+
+    // Same name Customer.getDisplayName() would give, taken from the joined row
+    private String ownerDisplayName(ResultSet rs) throws SQLException {
+        if (rs.getString("owner_id") == null) {
+            return "Account Owner";
+        }
+        if ("COMPANY".equalsIgnoreCase(rs.getString("customer_type"))) {
+            return rs.getString("company_name");
         }
+        return rs.getString("first_name") + " " + rs.getString("last_name");
     }
 
     // Helper methods
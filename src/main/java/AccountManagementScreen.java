@@ -3,14 +3,20 @@ import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class AccountManagementScreen {
+
+    private static final Log LOG = Log.get("ui.account");
+
     private Scene scene;
     private NavigationController navigationController;
     private BankingSystem bankingSystem;
     private AccountDAO accountDAO;
     private CustomerDAO customerDAO;
+    private ScreenTasks tasks;
 
     // UI components
     private ComboBox<String> accountComboBox;
@@ -24,6 +30,7 @@ public class AccountManagementScreen {
         this.bankingSystem = bankingSystem;
         this.accountDAO = new AccountDAO();
         this.customerDAO = new CustomerDAO();
+        this.tasks = navigationController.getScreenTasks();
         createUI();
     }
 
@@ -220,90 +227,102 @@ public class AccountManagementScreen {
         return box;
     }
 
+    // The combo box fills in when the query returns
     private void loadAccounts() {
-        try {
+        accountComboBox.setPromptText("Loading accounts...");
+        tasks.load(() -> {
             List<Account> accounts = accountDAO.getAllAccounts();
-            accountComboBox.getItems().clear();
 
+            // Owners and customers are fetched once for the whole list, not per row
+            Map<String, String> ownerByAccount = accountDAO.getCustomerIdsByAccount();
+            Map<String, Customer> customersById = customerDAO.getCustomersById(ownerByAccount.values());
+
+            List<String> items = new ArrayList<>(accounts.size());
             for (Account account : accounts) {
-                String customerId = accountDAO.getCustomerIdForAccount(account.getAccountNumber());
-                Customer customer = customerDAO.getCustomerById(customerId);
+                Customer customer = customersById.get(ownerByAccount.get(account.getAccountNumber()));
                 String customerName = customer != null ? customer.getDisplayName() : "Unknown Customer";
 
                 String displayText = account.getAccountNumber() + " - " +
                         customerName + " - " +
                         account.getAccountType() + " - " +
                         account.getFormattedBalance();
-                accountComboBox.getItems().add(displayText);
+                items.add(displayText);
             }
+            return items;
+        }, items -> {
+            accountComboBox.setPromptText(null);
+            accountComboBox.getItems().setAll(items);
 
-            if (!accounts.isEmpty()) {
-                accountComboBox.setValue(accountComboBox.getItems().get(0));
+            if (!items.isEmpty()) {
+                accountComboBox.setValue(items.get(0));
                 displayAccountDetails();
             } else {
                 accountDetailsArea.setText("No accounts found in the system.");
                 signatoriesListView.getItems().clear();
             }
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load accounts: " + e.getMessage());
-        }
+        }, error -> {
+            accountComboBox.setPromptText(null);
+            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load accounts: " + error.getMessage());
+        });
     }
 
     private void displayAccountDetails() {
         if (accountComboBox.getValue() == null) return;
 
-        try {
-            String accountSelection = accountComboBox.getValue();
-            String accountNumber = accountSelection.split(" - ")[0];
+        String accountSelection = accountComboBox.getValue();
+        String accountNumber = accountSelection.split(" - ")[0];
 
+        tasks.load(() -> {
             Account account = accountDAO.getAccountByNumber(accountNumber);
             if (account == null) {
-                accountDetailsArea.setText("Account not found: " + accountNumber);
-                return;
+                return null;
             }
-
             String customerId = accountDAO.getCustomerIdForAccount(accountNumber);
             Customer customer = customerDAO.getCustomerById(customerId);
-
-            StringBuilder details = new StringBuilder();
-            details.append("Account Number: ").append(account.getAccountNumber()).append("\n");
-            details.append("Account Type: ").append(account.getAccountType()).append("\n");
-            details.append("Balance: ").append(account.getFormattedBalance()).append("\n");
-            details.append("Branch: ").append(account.getBranch()).append("\n");
-
-            if (customer != null) {
-                details.append("Customer: ").append(customer.getDisplayName()).append("\n");
-                details.append("Customer ID: ").append(customer.getCustomerId()).append("\n");
+            return new AccountDetails(describeAccount(account, customer), accountDAO.getSignatories(accountNumber));
+        }, details -> {
+            // The user may have picked another account while this one loaded
+            if (!accountSelection.equals(accountComboBox.getValue())) {
+                return;
             }
-
-            if (account instanceof InvestmentAccount) {
-                details.append("Account Features: High-interest investment account\n");
-            } else if (account instanceof ChequeAccount) {
-                ChequeAccount chequeAccount = (ChequeAccount) account;
-                details.append("Employer: ").append(chequeAccount.getEmployerName()).append("\n");
-                details.append("Employer Address: ").append(chequeAccount.getEmployerAddress()).append("\n");
-            } else if (account instanceof SavingsAccount) {
-                details.append("Account Features: Basic savings with interest\n");
+            if (details == null) {
+                accountDetailsArea.setText("Account not found: " + accountNumber);
+                signatoriesListView.getItems().clear();
+                return;
             }
+            accountDetailsArea.setText(details.text);
+            signatoriesListView.getItems().setAll(details.signatories);
+        }, error -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to load account details: " + error.getMessage()));
+    }
 
-            accountDetailsArea.setText(details.toString());
+    private String describeAccount(Account account, Customer customer) {
+        StringBuilder details = new StringBuilder();
+        details.append("Account Number: ").append(account.getAccountNumber()).append("\n");
+        details.append("Account Type: ").append(account.getAccountType()).append("\n");
+        details.append("Balance: ").append(account.getFormattedBalance()).append("\n");
+        details.append("Branch: ").append(account.getBranch()).append("\n");
 
-            // Load signatories
-            loadSignatories(accountNumber);
+        if (customer != null) {
+            details.append("Customer: ").append(customer.getDisplayName()).append("\n");
+            details.append("Customer ID: ").append(customer.getCustomerId()).append("\n");
+        }
 
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load account details: " + e.getMessage());
+        if (account instanceof InvestmentAccount) {
+            details.append("Account Features: High-interest investment account\n");
+        } else if (account instanceof ChequeAccount) {
+            ChequeAccount chequeAccount = (ChequeAccount) account;
+            details.append("Employer: ").append(chequeAccount.getEmployerName()).append("\n");
+            details.append("Employer Address: ").append(chequeAccount.getEmployerAddress()).append("\n");
+        } else if (account instanceof SavingsAccount) {
+            details.append("Account Features: Basic savings with interest\n");
         }
+        return details.toString();
     }
 
     private void loadSignatories(String accountNumber) {
-        try {
-            List<String> signatories = accountDAO.getSignatories(accountNumber);
-            signatoriesListView.getItems().clear();
-            signatoriesListView.getItems().addAll(signatories);
-        } catch (Exception e) {
-            System.out.println("Error loading signatories: " + e.getMessage());
-        }
+        tasks.load(() -> accountDAO.getSignatories(accountNumber),
+                signatories -> signatoriesListView.getItems().setAll(signatories),
+                error -> LOG.error("Error loading signatories: " + error.getMessage()));
     }
 
     private void addSignatory() {
@@ -318,11 +337,10 @@ public class AccountManagementScreen {
             return;
         }
 
-        try {
-            String accountSelection = accountComboBox.getValue();
-            String accountNumber = accountSelection.split(" - ")[0];
+        String accountSelection = accountComboBox.getValue();
+        String accountNumber = accountSelection.split(" - ")[0];
 
-            boolean success = accountDAO.addSignatory(accountNumber, signatoryName);
+        tasks.onFx(tasks.write(() -> accountDAO.addSignatory(accountNumber, signatoryName)), success -> {
             if (success) {
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Signatory added successfully!");
                 newSignatoryField.clear();
@@ -330,9 +348,7 @@ public class AccountManagementScreen {
             } else {
                 showAlert(Alert.AlertType.ERROR, "Error", "Failed to add signatory.");
             }
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to add signatory: " + e.getMessage());
-        }
+        }, error -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to add signatory: " + error.getMessage()));
     }
 
     private void removeSignatory() {
@@ -347,11 +363,10 @@ public class AccountManagementScreen {
             return;
         }
 
-        try {
-            String accountSelection = accountComboBox.getValue();
-            String accountNumber = accountSelection.split(" - ")[0];
+        String accountSelection = accountComboBox.getValue();
+        String accountNumber = accountSelection.split(" - ")[0];
 
-            boolean success = accountDAO.removeSignatory(accountNumber, signatoryName);
+        tasks.onFx(tasks.write(() -> accountDAO.removeSignatory(accountNumber, signatoryName)), success -> {
             if (success) {
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Signatory removed successfully!");
                 removeSignatoryField.clear();
@@ -359,9 +374,7 @@ public class AccountManagementScreen {
             } else {
                 showAlert(Alert.AlertType.ERROR, "Error", "Failed to remove signatory. Name may not exist.");
             }
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to remove signatory: " + e.getMessage());
-        }
+        }, error -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to remove signatory: " + error.getMessage()));
     }
 
     private void showAlert(Alert.AlertType type, String title, String message) {
@@ -372,6 +385,16 @@ public class AccountManagementScreen {
         alert.showAndWait();
     }
 
+    private static class AccountDetails {
+        final String text;
+        final List<String> signatories;
+
+        AccountDetails(String text, List<String> signatories) {
+            this.text = text;
+            this.signatories = signatories;
+        }
+    }
+
     public Scene getScene() {
         return scene;
     }
@@ -4,13 +4,14 @@ import java.util.List;
 
 public class BankEmployeeDAO {
 
+    private static final Log LOG = Log.get("dao.employee");
+
     // ADD THIS SIMPLE LOGIN METHOD
     public boolean employeeLogin(String employeeId, String password) {
         String sql = "SELECT * FROM employees WHERE employee_id = ? AND password = ?";
 
-        System.out.println("🔐 EmployeeDAO Login Attempt:");
-        System.out.println("Employee ID: " + employeeId);
-        System.out.println("Password: " + password);
+        // Never log the password
+        LOG.debug(() -> "Employee login attempt: " + employeeId);
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -21,15 +22,12 @@ public class BankEmployeeDAO {
             ResultSet rs = pstmt.executeQuery();
             boolean loginSuccess = rs.next();
 
-            System.out.println("Login result: " + loginSuccess);
-            if (loginSuccess) {
-                System.out.println("Found employee: " + rs.getString("first_name") + " " + rs.getString("last_name"));
-            }
+            LOG.debug(() -> "Employee login " + (loginSuccess ? "succeeded" : "failed") + ": " + employeeId);
 
             return loginSuccess;
 
         } catch (SQLException e) {
-            System.out.println("Error during employee login: " + e.getMessage());
+            LOG.error("Error during employee login: " + e.getMessage());
             return false;
         }
     }
@@ -56,7 +54,7 @@ public class BankEmployeeDAO {
             }
 
         } catch (SQLException e) {
-            System.out.println("Error getting employee by ID: " + e.getMessage());
+            LOG.error("Error getting employee by ID: " + e.getMessage());
         }
         return null;
     }
@@ -83,7 +81,7 @@ public class BankEmployeeDAO {
             }
 
         } catch (SQLException e) {
-            System.out.println("Error getting all employees: " + e.getMessage());
+            LOG.error("Error getting all employees: " + e.getMessage());
         }
         return employees;
     }
@@ -115,7 +113,7 @@ public class BankEmployeeDAO {
             }
 
         } catch (SQLException e) {
-            System.out.println("Error verifying employee: " + e.getMessage());
+            LOG.error("Error verifying employee: " + e.getMessage());
         }
         return null;
     }
@@ -133,7 +131,7 @@ public class BankEmployeeDAO {
             }
 
         } catch (SQLException e) {
-            System.out.println("Error checking if employees exist: " + e.getMessage());
+            LOG.error("Error checking if employees exist: " + e.getMessage());
         }
         return false;
     }
@@ -155,7 +153,7 @@ public class BankEmployeeDAO {
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.out.println("Error updating employee: " + e.getMessage());
+            LOG.error("Error updating employee: " + e.getMessage());
             return false;
         }
     }
@@ -172,7 +170,7 @@ public class BankEmployeeDAO {
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.out.println("Error deleting employee: " + e.getMessage());
+            LOG.error("Error deleting employee: " + e.getMessage());
             return false;
         }
     }
@@ -192,17 +190,13 @@ public class BankEmployeeDAO {
 
             int rowsAffected = pstmt.executeUpdate();
 
-            // ADD DEBUG:
-            System.out.println("DEBUG createEmployee: " + employee.getEmployeeId() +
-                    " | Rows affected: " + rowsAffected);
+            LOG.debug(() -> "createEmployee: " + employee.getEmployeeId() + " | Rows affected: " + rowsAffected);
 
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            // ADD DEBUG:
-            System.out.println("DEBUG SQL Error: " + e.getMessage());
-            System.out.println("DEBUG SQL State: " + e.getSQLState());
-            System.out.println("DEBUG Error Code: " + e.getErrorCode());
+            LOG.error("Error creating employee: " + e.getMessage() +
+                    " (SQL state " + e.getSQLState() + ", error code " + e.getErrorCode() + ")");
             return false;
         }
     }
@@ -1,11 +1,15 @@
 import java.util.List;
-import java.sql.*;
 
 public class BankingSystem {
+
+    private static final Log LOG = Log.get("app");
+
     private CustomerDAO customerDAO;
     private BankEmployeeDAO employeeDAO;
     private AccountDAO accountDAO;
     private TransactionDAO transactionDAO;
+    private StatisticsDAO statisticsDAO;
+    private PostingService postingService;
     private Customer currentCustomer;
     private BankEmployee currentEmployee;
 
@@ -14,67 +18,13 @@ public class BankingSystem {
         this.employeeDAO = new BankEmployeeDAO();
         this.accountDAO = new AccountDAO();
         this.transactionDAO = new TransactionDAO();
-
-        // DEBUG: Check what's in database
-        System.out.println("=== DATABASE STATUS ===");
-        List<Customer> customers = customerDAO.getAllCustomers();
-        List<BankEmployee> employees = employeeDAO.getAllEmployees();
-        System.out.println("Customers in DB: " + customers.size());
-        System.out.println("Employees in DB: " + employees.size());
-        System.out.println("======================");
-
-        // ADDED: Debug database contents
-        debugDatabaseContents();
+        this.statisticsDAO = new StatisticsDAO();
+        this.postingService = new PostingService();
     }
 
-    // ADD THIS METHOD:
-    private void debugDatabaseContents() {
-        System.out.println("=== DEBUG DATABASE CONTENTS ===");
-
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            Statement stmt = conn.createStatement();
-
-            // Show EXACT customer data
-            System.out.println("CUSTOMERS:");
-            ResultSet rs = stmt.executeQuery("SELECT * FROM customers");
-            int customerCount = 0;
-            while (rs.next()) {
-                customerCount++;
-                System.out.println("  ID: " + rs.getString("customer_id") +
-                        " | Password: " + rs.getString("password") +
-                        " | Name: " + rs.getString("first_name") + " " + rs.getString("last_name") +
-                        " | Type: " + rs.getString("customer_type"));
-            }
-            if (customerCount == 0) {
-                System.out.println("  (no customers)");
-            }
-
-            // Show EXACT employee data
-            System.out.println("EMPLOYEES:");
-            rs = stmt.executeQuery("SELECT * FROM employees");
-            int employeeCount = 0;
-            while (rs.next()) {
-                employeeCount++;
-                System.out.println("  ID: " + rs.getString("employee_id") +
-                        " | Password: " + rs.getString("password") +
-                        " | Name: " + rs.getString("first_name") + " " + rs.getString("last_name"));
-            }
-            if (employeeCount == 0) {
-                System.out.println("  (no employees)");
-            }
-
-            // Check database file location
-            System.out.println("Database URL: " + conn.getMetaData().getURL());
-
-            rs.close();
-            stmt.close();
-            conn.close();
-
-        } catch (SQLException e) {
-            System.out.println("Debug error: " + e.getMessage());
-        }
-        System.out.println("=== END DEBUG ===");
+    // Row counts, settings and query plans, collected only when asked for
+    public HealthReport getHealthReport() {
+        return HealthReport.collect();
     }
 
     // === LOGIN METHODS ===
@@ -82,10 +32,10 @@ public class BankingSystem {
         BankEmployee employee = employeeDAO.verifyEmployee(employeeId, password);
         if (employee != null) {
             currentEmployee = employee;
-            System.out.println("Employee login successful: " + employee.getFirstName());
+            LOG.info("Employee login successful: " + employeeId);
             return true;
         }
-        System.out.println("Employee login failed for: " + employeeId);
+        LOG.info("Employee login failed for: " + employeeId);
         return false;
     }
 
@@ -93,19 +43,19 @@ public class BankingSystem {
         Customer customer = customerDAO.getCustomerById(customerId);
         if (customer != null && customer.authenticate(customerId, password)) {
             currentCustomer = customer;
-            System.out.println("Customer login successful: " + customer.getDisplayName());
+            LOG.info("Customer login successful: " + customerId);
             return true;
         }
-        System.out.println("Customer login failed for: " + customerId);
+        LOG.info("Customer login failed for: " + customerId);
         return false;
     }
 
     public void logout() {
         if (currentCustomer != null) {
-            System.out.println("Logging out customer: " + currentCustomer.getDisplayName());
+            LOG.info("Logging out customer: " + currentCustomer.getCustomerId());
         }
         if (currentEmployee != null) {
-            System.out.println("Logging out employee: " + currentEmployee.getFirstName());
+            LOG.info("Logging out employee: " + currentEmployee.getEmployeeId());
         }
         currentCustomer = null;
         currentEmployee = null;
@@ -154,7 +104,7 @@ public class BankingSystem {
         return accountDAO.getAccountByNumber(accountNumber);
     }
 
-    public boolean updateAccountBalance(String accountNumber, double newBalance) {
+    public boolean updateAccountBalance(String accountNumber, Money newBalance) {
         return accountDAO.updateAccountBalance(accountNumber, newBalance);
     }
 
@@ -169,44 +119,34 @@ public class BankingSystem {
     }
 
     // === TRANSACTION METHODS ===
-    public boolean depositToAccount(String accountNumber, double amount, String description) {
-        Account account = accountDAO.getAccountByNumber(accountNumber);
-        if (account != null) {
-            double newBalance = account.getBalance() + amount;
-
-            // Update account balance
-            if (accountDAO.updateAccountBalance(accountNumber, newBalance)) {
-                // Create transaction record
-                Transaction transaction = new Transaction(accountNumber, "DEPOSIT", amount, newBalance, description);
-                if (transactionDAO.recordTransaction(transaction)) {
-                    System.out.println("Deposit successful: P" + amount + " to account " + accountNumber);
-                    return true;
-                }
-            }
+    public boolean depositToAccount(String accountNumber, Money amount, String description) {
+        PostingService.PostingResult result = postingService.deposit(accountNumber, amount, description);
+        if (result.isPosted()) {
+            LOG.debug(() -> "Deposit successful: " + amount + " to account " + accountNumber);
+            return true;
         }
-        System.out.println("Deposit failed for account: " + accountNumber);
+        LOG.info("Deposit failed for account: " + accountNumber + " (" + result.getMessage() + ")");
         return false;
     }
 
-    public boolean withdrawFromAccount(String accountNumber, double amount, String description) {
-        Account account = accountDAO.getAccountByNumber(accountNumber);
-        if (account != null && account.getBalance() >= amount) {
-            double newBalance = account.getBalance() - amount;
-
-            // Update account balance
-            if (accountDAO.updateAccountBalance(accountNumber, newBalance)) {
-                // Create transaction record
-                Transaction transaction = new Transaction(accountNumber, "WITHDRAWAL", amount, newBalance, description);
-                if (transactionDAO.recordTransaction(transaction)) {
-                    System.out.println("Withdrawal successful: P" + amount + " from account " + accountNumber);
-                    return true;
-                }
-            }
+    public boolean withdrawFromAccount(String accountNumber, Money amount, String description) {
+        PostingService.PostingResult result = postingService.withdraw(accountNumber, amount, description);
+        if (result.isPosted()) {
+            LOG.debug(() -> "Withdrawal successful: " + amount + " from account " + accountNumber);
+            return true;
         }
-        System.out.println("Withdrawal failed for account: " + accountNumber);
+        LOG.info("Withdrawal failed for account: " + accountNumber + " (" + result.getMessage() + ")");
         return false;
     }
 
+    public StatisticsDAO getStatisticsDAO() {
+        return statisticsDAO;
+    }
+
+    public PostingService getPostingService() {
+        return postingService;
+    }
+
     // === GETTER METHODS ===
     public Customer getCurrentCustomer() {
         return currentCustomer;
@@ -229,29 +169,26 @@ public class BankingSystem {
 
     // === DEBUG/HELPER METHODS ===
     public void printSystemStatus() {
-        System.out.println("=== BANKING SYSTEM STATUS ===");
-        List<BankEmployee> employees = employeeDAO.getAllEmployees();
-        List<Customer> customers = customerDAO.getAllCustomers();
-        List<Account> accounts = accountDAO.getAllAccounts();
-
-        System.out.println("Employees: " + employees.size());
-        System.out.println("Customers: " + customers.size());
-        System.out.println("Accounts: " + accounts.size());
-
-        double totalBalance = 0.0;
-        for (Account account : accounts) {
-            totalBalance += account.getBalance();
+        StringBuilder status = new StringBuilder("Banking system status:");
+        StatisticsDAO.Overview overview = statisticsDAO.getOverview();
+
+        status.append("\nEmployees: ").append(overview.getTotalEmployees());
+        status.append("\nCustomers: ").append(overview.getTotalCustomers());
+        status.append("\nAccounts: ").append(overview.getTotalAccounts());
+        status.append("\nTotal Balance: ").append(overview.getTotalBalance());
+        for (StatisticsDAO.Breakdown byType : statisticsDAO.getAccountsByType()) {
+            status.append("\n  ").append(byType);
         }
-
-        System.out.println("Total Balance: P" + String.format("%.2f", totalBalance));
+        status.append("\nAccount cache: ").append(AccountDAO.getCache().getStats());
+        status.append("\nCustomer cache: ").append(CustomerDAO.getCache().getStats());
 
         if (currentCustomer != null) {
-            System.out.println("Current User: Customer - " + currentCustomer.getDisplayName());
+            status.append("\nCurrent User: Customer - ").append(currentCustomer.getDisplayName());
         } else if (currentEmployee != null) {
-            System.out.println("Current User: Employee - " + currentEmployee.getFirstName());
+            status.append("\nCurrent User: Employee - ").append(currentEmployee.getFirstName());
         } else {
-            System.out.println("Current User: None (Logged out)");
+            status.append("\nCurrent User: None (Logged out)");
         }
-        System.out.println("=============================");
+        LOG.info(status.toString());
     }
 }
\ No newline at end of file
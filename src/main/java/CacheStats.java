@@ -0,0 +1,34 @@
+// Hit/miss counters reported by the shared DAO caches
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+    private final int maxSize;
+
+    CacheStats(long hits, long misses, long evictions, int size, int maxSize) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.maxSize = maxSize;
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public int getSize() { return size; }
+    public int getMaxSize() { return maxSize; }
+
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions +
+                ", size=" + size + "/" + maxSize +
+                ", hitRate=" + String.format("%.1f%%", getHitRate() * 100);
+    }
+}
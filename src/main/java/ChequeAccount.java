@@ -5,7 +5,7 @@ public class ChequeAccount extends Account implements Serializable {
     private String employerName;
     private String employerAddress;
 
-    public ChequeAccount(String accountNumber, double balance, String branch,
+    public ChequeAccount(String accountNumber, Money balance, String branch,
                          String employerName, String employerAddress) {
         super(accountNumber, balance, branch);
         this.employerName = employerName;
@@ -0,0 +1,251 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bounded pool of long-lived JDBC connections. Callers keep using
+// try-with-resources: closing a pooled connection hands it back to the pool
+// instead of closing the database file.
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Log LOG = Log.get("db.pool");
+
+    // Setup that runs once per physical connection, right after it is opened
+    public interface ConnectionInitializer {
+        void initialize(Connection connection) throws SQLException;
+    }
+
+    private static class IdleConnection {
+        final Connection connection;
+        final long returnedAt;
+
+        IdleConnection(Connection connection, long returnedAt) {
+            this.connection = connection;
+            this.returnedAt = returnedAt;
+        }
+    }
+
+    private final String url;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long validationIntervalMillis;
+    private final ConnectionInitializer initializer;
+
+    private final Semaphore permits;
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private final AtomicInteger openedCount = new AtomicInteger();
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, int maxSize, long borrowTimeoutMillis, long idleTimeoutMillis,
+                          long validationIntervalMillis, ConnectionInitializer initializer) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1: " + maxSize);
+        }
+        this.url = url;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationIntervalMillis = validationIntervalMillis;
+        this.initializer = initializer;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + borrowTimeoutMillis + "ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            Connection physical = takeIdle();
+            if (physical == null) {
+                physical = openConnection();
+            }
+            return wrap(physical);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Opens connections ahead of demand so the first queries do not pay for
+    // opening and configuring them; returns how many are now idle
+    public int prewarm(int count) throws SQLException {
+        List<Connection> borrowed = new ArrayList<>();
+        try {
+            for (int i = 0; i < Math.min(count, maxSize); i++) {
+                borrowed.add(getConnection());
+            }
+        } finally {
+            for (Connection connection : borrowed) {
+                connection.close();
+            }
+        }
+        return getIdleCount();
+    }
+
+    public int getMaxSize() { return maxSize; }
+    public int getOpenedCount() { return openedCount.get(); }
+    public int getInUseCount() { return maxSize - permits.availablePermits(); }
+
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (idle) {
+            for (IdleConnection entry : idle) {
+                closeQuietly(entry.connection);
+            }
+            idle.clear();
+        }
+    }
+
+    // Most recently returned connection first, so rarely used ones age out
+    private Connection takeIdle() {
+        while (true) {
+            IdleConnection entry;
+            synchronized (idle) {
+                entry = idle.pollFirst();
+            }
+            if (entry == null) {
+                return null;
+            }
+
+            long idleFor = System.currentTimeMillis() - entry.returnedAt;
+            if (idleFor > idleTimeoutMillis) {
+                closeQuietly(entry.connection);
+            } else if (idleFor > validationIntervalMillis && !isValid(entry.connection)) {
+                closeQuietly(entry.connection);
+            } else {
+                return entry.connection;
+            }
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            if (initializer != null) {
+                initializer.initialize(connection);
+            }
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(connection);
+            throw e;
+        }
+        openedCount.incrementAndGet();
+        return connection;
+    }
+
+    private void release(Connection physical) {
+        try {
+            if (closed || physical.isClosed()) {
+                closeQuietly(physical);
+                return;
+            }
+
+            // Never hand out a connection with a half-finished transaction
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+
+            long now = System.currentTimeMillis();
+            synchronized (idle) {
+                idle.addFirst(new IdleConnection(physical, now));
+                evictExpired(now);
+            }
+        } catch (SQLException e) {
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Oldest entries sit at the tail; caller holds the idle lock
+    private void evictExpired(long now) {
+        while (!idle.isEmpty() && now - idle.peekLast().returnedAt > idleTimeoutMillis) {
+            closeQuietly(idle.pollLast().connection);
+        }
+    }
+
+    private boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOG.error("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    private Connection wrap(Connection physical) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean released;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (method.getDeclaringClass() == Object.class) {
+                    if ("equals".equals(name)) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(name)) {
+                        return System.identityHashCode(proxy);
+                    }
+                    return "Pooled[" + physical + "]";
+                }
+                if ("close".equals(name) && method.getParameterCount() == 0) {
+                    if (!released) {
+                        released = true;
+                        release(physical);
+                    }
+                    return null;
+                }
+                if ("isClosed".equals(name) && method.getParameterCount() == 0) {
+                    return released || physical.isClosed();
+                }
+                if (released) {
+                    throw new SQLException("Connection has already been returned to the pool");
+                }
+                try {
+                    return method.invoke(physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+}
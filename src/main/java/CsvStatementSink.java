@@ -0,0 +1,94 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+
+// One CSV record per account, transaction and grand total, for spreadsheets.
+// Amounts are plain decimal Pula without the currency prefix.
+public class CsvStatementSink implements StatementSink {
+
+    private static final String HEADER =
+            "record,account_number,account_type,branch,date,transaction_type,amount,balance,transactions,description\n";
+
+    private final Writer out;
+    private Account account;
+
+    public CsvStatementSink(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin(Customer customer, LocalDate startDate, LocalDate endDate, boolean detailed) throws IOException {
+        out.write(HEADER);
+    }
+
+    @Override
+    public void beginAccount(Account account, int transactionCount) throws IOException {
+        this.account = account;
+        out.write("ACCOUNT,");
+        field(account.getAccountNumber());
+        field(account.getAccountType());
+        field(account.getBranch());
+        out.write(",,,");
+        out.write(account.getBalance().toPlainString());
+        out.write(',');
+        out.write(Integer.toString(transactionCount));
+        out.write(",\n");
+    }
+
+    @Override
+    public void transaction(Transaction transaction) throws IOException {
+        out.write("TRANSACTION,");
+        field(account.getAccountNumber());
+        field(account.getAccountType());
+        field(account.getBranch());
+        if (transaction.getTimestamp() != null) {
+            TransactionRenderer.appendTimestamp(out, transaction.getTimestamp(), true);
+        }
+        out.write(',');
+        field(transaction.getTransactionType());
+        Money.appendPlain(out, transaction.getAmount().getThebe());
+        out.write(',');
+        Money.appendPlain(out, transaction.getBalanceAfter().getThebe());
+        out.write(",,");
+        quote(transaction.getDescription());
+        out.write('\n');
+    }
+
+    @Override
+    public void endAccount(Account account, int transactionCount) {
+        this.account = null;
+    }
+
+    @Override
+    public void end(int accountCount, Money totalBalance, int transactionCount) throws IOException {
+        out.write("TOTAL,,,,,,,");
+        out.write(totalBalance.toPlainString());
+        out.write(',');
+        out.write(Integer.toString(transactionCount));
+        out.write(",\n");
+    }
+
+    private void field(String value) throws IOException {
+        quote(value);
+        out.write(',');
+    }
+
+    // RFC 4180: quote when the value holds a comma, quote or line break
+    private void quote(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,140 @@
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Shared, size-bounded cache of customers keyed by customer id, least recently
+// used evicted first. Misses are single-flight: when several threads miss on
+// the same id at once, one of them runs the query and the rest wait for its
+// result. Like AccountCache, a generation counter keeps a load that raced
+// with an update from caching the older row, and callers get copies.
+public class CustomerCache {
+
+    private final int maxSize;
+    private final LinkedHashMap<String, Customer> customers;
+    private final ConcurrentHashMap<String, CompletableFuture<Customer>> inFlight = new ConcurrentHashMap<>();
+
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CustomerCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        // accessOrder = true turns insertion order into least-recently-used order
+        this.customers = new LinkedHashMap<String, Customer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Customer> eldest) {
+                if (size() > CustomerCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Cached copy, or the loader's result; unknown ids (null) are not cached
+    public Customer get(String customerId, Function<String, Customer> loader) {
+        if (customerId == null) {
+            return null;
+        }
+        Customer cached = getIfPresent(customerId);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<Customer> mine = new CompletableFuture<>();
+        CompletableFuture<Customer> leader = inFlight.putIfAbsent(customerId, mine);
+        if (leader != null) {
+            Customer loaded = leader.join();
+            return loaded != null ? copyOf(loaded) : null;
+        }
+
+        try {
+            long readGeneration = currentGeneration();
+            Customer loaded = loader.apply(customerId);
+            put(loaded, readGeneration);
+            mine.complete(loaded);
+            return loaded != null ? copyOf(loaded) : null;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(customerId, mine);
+        }
+    }
+
+    public synchronized Customer getIfPresent(String customerId) {
+        Customer cached = customers.get(customerId);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copyOf(cached);
+    }
+
+    // Taken before a database read; pass it back to put() so a stale row is dropped
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    public synchronized void put(Customer customer, long readGeneration) {
+        if (customer != null && readGeneration == generation) {
+            customers.put(customer.getCustomerId(), copyOf(customer));
+        }
+    }
+
+    public synchronized void putAll(Collection<Customer> loaded, long readGeneration) {
+        if (readGeneration != generation) {
+            return;
+        }
+        for (Customer customer : loaded) {
+            customers.put(customer.getCustomerId(), copyOf(customer));
+        }
+    }
+
+    // Call after the database change has been committed
+    public synchronized void invalidate(String customerId) {
+        generation++;
+        customers.remove(customerId);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        customers.clear();
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, customers.size(), maxSize);
+    }
+
+    // Same fields CustomerDAO reads from the customers table
+    private static Customer copyOf(Customer customer) {
+        if (customer instanceof CompanyCustomer) {
+            CompanyCustomer company = (CompanyCustomer) customer;
+            CompanyCustomer copy = new CompanyCustomer(
+                    company.getCustomerId(), company.getPassword(), company.getCompanyName(),
+                    company.getAddress(), company.getPhoneNumber(), company.getRegistrationNumber(),
+                    company.getContactName(), company.getCompanyAddress());
+            copy.setEmail(company.email);
+            return copy;
+        }
+        if (customer instanceof IndividualCustomer) {
+            IndividualCustomer individual = (IndividualCustomer) customer;
+            IndividualCustomer copy = new IndividualCustomer(
+                    individual.getCustomerId(), individual.getPassword(),
+                    individual.getFirstName(), individual.getLastName(),
+                    individual.getAddress(), individual.getPhoneNumber(), individual.email);
+            copy.setEmploymentInfo(individual.employmentInfo);
+            return copy;
+        }
+        throw new IllegalArgumentException("Unknown customer class: " + customer.getClass().getName());
+    }
+}
@@ -1,16 +1,37 @@
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public class CustomerDAO {
 
+    private static final Log LOG = Log.get("dao.customer");
+
+    // Shared by every CustomerDAO instance, sized with -Dbanking.cache.customers.maxSize
+    private static final CustomerCache CACHE =
+            new CustomerCache(Integer.getInteger("banking.cache.customers.maxSize", 10_000));
+
+    public static CustomerCache getCache() {
+        return CACHE;
+    }
+
+    // Display name as SQL, matching Customer.getDisplayName. idx_customers_name
+    // is built over this exact expression, so change both together.
+    static final String DISPLAY_NAME_SQL =
+            "(CASE WHEN customer_type = 'COMPANY' THEN COALESCE(company_name, '') " +
+                    "ELSE first_name || ' ' || last_name END)";
+
     // FIXED: Customer login with password
     public boolean customerLogin(String username, String password) {
         String sql = "SELECT * FROM customers WHERE customer_id = ? AND password = ?";
 
-        System.out.println("🔐 CustomerDAO Login Attempt:");
-        System.out.println("Customer ID: " + username);
-        System.out.println("Password: " + password);
+        // Never log the password
+        LOG.debug(() -> "Customer login attempt: " + username);
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -21,15 +42,12 @@ public class CustomerDAO {
             ResultSet rs = pstmt.executeQuery();
             boolean loginSuccess = rs.next();
 
-            System.out.println("Login result: " + loginSuccess);
-            if (loginSuccess) {
-                System.out.println("Found customer: " + rs.getString("first_name") + " " + rs.getString("last_name"));
-            }
+            LOG.debug(() -> "Customer login " + (loginSuccess ? "succeeded" : "failed") + ": " + username);
 
             return loginSuccess;
 
         } catch (SQLException e) {
-            System.out.println("Error during customer login: " + e.getMessage());
+            LOG.error("Error during customer login: " + e.getMessage());
             return false;
         }
     }
@@ -67,14 +85,66 @@ public class CustomerDAO {
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.out.println("Error creating customer: " + e.getMessage());
-            e.printStackTrace(); // Added for better debugging
+            LOG.error("Error creating customer: " + e.getMessage(), e);
             return false;
         }
     }
 
-    // UPDATED: Get customer by ID - includes password and handles both customer types correctly
+    // UPDATED: Get customer by ID - served from the shared cache, one query per miss
     public Customer getCustomerById(String customerId) {
+        return CACHE.get(customerId, this::loadCustomerById);
+    }
+
+    // Customers for many ids at once: cache hits plus one IN (...) query for the rest
+    public Map<String, Customer> getCustomersById(Collection<String> customerIds) {
+        Map<String, Customer> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String customerId : new LinkedHashSet<>(customerIds)) {
+            if (customerId == null) {
+                continue;
+            }
+            Customer cached = CACHE.getIfPresent(customerId);
+            if (cached != null) {
+                found.put(customerId, cached);
+            } else {
+                missing.add(customerId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        // SQLite's default limit on bound parameters is 999
+        long generation = CACHE.currentGeneration();
+        List<Customer> loaded = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (int from = 0; from < missing.size(); from += 500) {
+                List<String> chunk = missing.subList(from, Math.min(from + 500, missing.size()));
+                String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "SELECT * FROM customers WHERE customer_id IN (" + placeholders + ")")) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            loaded.add(mapCustomer(rs));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting customers: " + e.getMessage(), e);
+        }
+
+        CACHE.putAll(loaded, generation);
+        for (Customer customer : loaded) {
+            found.put(customer.getCustomerId(), customer);
+        }
+        return found;
+    }
+
+    private Customer loadCustomerById(String customerId) {
         String sql = "SELECT * FROM customers WHERE customer_id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -84,43 +154,170 @@ public class CustomerDAO {
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                String customerType = rs.getString("customer_type");
-                if ("COMPANY".equalsIgnoreCase(customerType)) {
-                    CompanyCustomer customer = new CompanyCustomer(
-                            rs.getString("customer_id"),           // username
-                            rs.getString("password"),              // password
-                            rs.getString("company_name"),         // companyName
-                            rs.getString("address"),              // address
-                            rs.getString("phone_number"),         // phoneNumber
-                            rs.getString("registration_number"),  // registrationNumber
-                            rs.getString("first_name") + " " + rs.getString("last_name"), // contactName
-                            rs.getString("company_address")       // companyAddress
-                    );
-                    customer.setEmail(rs.getString("email"));
-                    return customer;
-                } else {
-                    // Individual customer
-                    IndividualCustomer customer = new IndividualCustomer(
-                            rs.getString("customer_id"),          // username
-                            rs.getString("password"),             // password
-                            rs.getString("first_name"),           // firstName
-                            rs.getString("last_name"),            // lastName
-                            rs.getString("address"),              // address
-                            rs.getString("phone_number"),         // phoneNumber
-                            rs.getString("email")                 // email
-                    );
-                    customer.setEmploymentInfo(rs.getString("employment_info"));
-                    return customer;
+                return mapCustomer(rs);
+            }
+
+        } catch (SQLException e) {
+            LOG.error("Error getting customer: " + e.getMessage(), e);
+        }
+        return null;
+    }
+
+    // Builds the right Customer subclass from a customers row - includes password
+    static Customer mapCustomer(ResultSet rs) throws SQLException {
+        String customerType = rs.getString("customer_type");
+        if ("COMPANY".equalsIgnoreCase(customerType)) {
+            CompanyCustomer customer = new CompanyCustomer(
+                    rs.getString("customer_id"),           // username
+                    rs.getString("password"),              // password
+                    rs.getString("company_name"),         // companyName
+                    rs.getString("address"),              // address
+                    rs.getString("phone_number"),         // phoneNumber
+                    rs.getString("registration_number"),  // registrationNumber
+                    rs.getString("first_name") + " " + rs.getString("last_name"), // contactName
+                    rs.getString("company_address")       // companyAddress
+            );
+            customer.setEmail(rs.getString("email"));
+            return customer;
+        } else {
+            // Individual customer
+            IndividualCustomer customer = new IndividualCustomer(
+                    rs.getString("customer_id"),          // username
+                    rs.getString("password"),             // password
+                    rs.getString("first_name"),           // firstName
+                    rs.getString("last_name"),            // lastName
+                    rs.getString("address"),              // address
+                    rs.getString("phone_number"),         // phoneNumber
+                    rs.getString("email")                 // email
+            );
+            customer.setEmploymentInfo(rs.getString("employment_info"));
+            return customer;
+        }
+    }
+
+    // One page of id/name/type rows, for lists and pickers over any number of
+    // customers. customerType and search (an id or name prefix, any case) are
+    // optional; pass the previous page's cursor to continue after it.
+    public CustomerPage getCustomerPage(String customerType, String search, CustomerPage.Sort sort,
+                                        CustomerPage.Cursor after, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1: " + pageSize);
+        }
+
+        boolean byName = sort == CustomerPage.Sort.NAME;
+        String sortKey = byName ? DISPLAY_NAME_SQL + " COLLATE NOCASE" : "customer_id";
+        boolean hasType = customerType != null && !customerType.isEmpty();
+        boolean hasSearch = search != null && !search.trim().isEmpty();
+
+        StringBuilder sql = new StringBuilder("SELECT customer_id, ")
+                .append(DISPLAY_NAME_SQL).append(", customer_type FROM customers WHERE 1 = 1");
+        if (hasType) {
+            // Unary + keeps SQLite off idx_customers_type: walking the sort
+            // order and stopping after one page beats sorting a whole type
+            sql.append(" AND +customer_type = ?");
+        }
+        String idPrefix = null, idEnd = null, namePrefix = null, nameEnd = null;
+        if (hasSearch) {
+            // Prefixes become ranges so SQLite can seek: the id range runs on the
+            // primary key (ids are stored upper case), the name range on
+            // idx_customers_name. NOCASE only folds ASCII, so the name bounds are
+            // folded the same way before the end of the range is worked out.
+            idPrefix = search.trim().toUpperCase(Locale.ROOT);
+            idEnd = prefixEnd(idPrefix);
+            namePrefix = foldAsciiCase(search.trim());
+            nameEnd = prefixEnd(namePrefix);
+            sql.append(" AND (");
+            appendPrefixRange(sql, "customer_id", idEnd != null);
+            sql.append(" OR ");
+            appendPrefixRange(sql, DISPLAY_NAME_SQL + " COLLATE NOCASE", nameEnd != null);
+            sql.append(')');
+        }
+        if (after != null) {
+            sql.append(" AND (").append(sortKey).append(" > ? OR (")
+                    .append(sortKey).append(" = ? AND customer_id > ?))");
+        }
+        sql.append(" ORDER BY ").append(sortKey).append(byName ? ", customer_id" : "").append(" LIMIT ?");
+
+        List<CustomerSummary> customers = new ArrayList<>(pageSize);
+        CustomerPage.Cursor next = null;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            int index = 1;
+            if (hasType) {
+                pstmt.setString(index++, customerType.toUpperCase());
+            }
+            if (hasSearch) {
+                pstmt.setString(index++, idPrefix);
+                if (idEnd != null) {
+                    pstmt.setString(index++, idEnd);
+                }
+                pstmt.setString(index++, namePrefix);
+                if (nameEnd != null) {
+                    pstmt.setString(index++, nameEnd);
+                }
+            }
+            if (after != null) {
+                pstmt.setString(index++, after.getSortKey());
+                pstmt.setString(index++, after.getSortKey());
+                pstmt.setString(index++, after.getCustomerId());
+            }
+            // One extra row tells us whether another page exists
+            pstmt.setInt(index, pageSize + 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (customers.size() == pageSize) {
+                        CustomerSummary last = customers.get(pageSize - 1);
+                        next = new CustomerPage.Cursor(byName ? last.getDisplayName() : last.getCustomerId(),
+                                last.getCustomerId());
+                        break;
+                    }
+                    customers.add(new CustomerSummary(rs.getString(1), rs.getString(2), rs.getString(3)));
                 }
             }
 
         } catch (SQLException e) {
-            System.out.println("Error getting customer: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error getting customer page: " + e.getMessage());
+        }
+        return new CustomerPage(customers, next);
+    }
+
+    private static void appendPrefixRange(StringBuilder sql, String column, boolean bounded) {
+        sql.append('(').append(column).append(" >= ?");
+        if (bounded) {
+            sql.append(" AND ").append(column).append(" < ?");
+        }
+        sql.append(')');
+    }
+
+    // Smallest string greater than every string starting with prefix, in
+    // SQLite's code point order; null when there is none
+    private static String prefixEnd(String prefix) {
+        int end = prefix.length();
+        while (end > 0) {
+            int last = prefix.codePointBefore(end);
+            int start = end - Character.charCount(last);
+            if (last < Character.MAX_CODE_POINT) {
+                int next = last + 1 == Character.MIN_SURROGATE ? Character.MAX_SURROGATE + 1 : last + 1;
+                return new StringBuilder(prefix.substring(0, start)).appendCodePoint(next).toString();
+            }
+            end = start;
         }
         return null;
     }
 
+    // Lower-cases A-Z only, as COLLATE NOCASE compares
+    private static String foldAsciiCase(String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            folded.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+        return folded.toString();
+    }
+
     // UPDATED: Get all customers - includes password
     public List<Customer> getAllCustomers() {
         List<Customer> customers = new ArrayList<>();
@@ -131,39 +328,11 @@ public class CustomerDAO {
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                String customerType = rs.getString("customer_type");
-                if ("COMPANY".equalsIgnoreCase(customerType)) {
-                    CompanyCustomer customer = new CompanyCustomer(
-                            rs.getString("customer_id"),           // username
-                            rs.getString("password"),              // password
-                            rs.getString("company_name"),         // companyName
-                            rs.getString("address"),              // address
-                            rs.getString("phone_number"),         // phoneNumber
-                            rs.getString("registration_number"),  // registrationNumber
-                            rs.getString("first_name") + " " + rs.getString("last_name"), // contactName
-                            rs.getString("company_address")       // companyAddress
-                    );
-                    customer.setEmail(rs.getString("email"));
-                    customers.add(customer);
-                } else {
-                    // Individual customer
-                    IndividualCustomer customer = new IndividualCustomer(
-                            rs.getString("customer_id"),          // username
-                            rs.getString("password"),             // password
-                            rs.getString("first_name"),           // firstName
-                            rs.getString("last_name"),            // lastName
-                            rs.getString("address"),              // address
-                            rs.getString("phone_number"),         // phoneNumber
-                            rs.getString("email")                 // email
-                    );
-                    customer.setEmploymentInfo(rs.getString("employment_info"));
-                    customers.add(customer);
-                }
+                customers.add(mapCustomer(rs));
             }
 
         } catch (SQLException e) {
-            System.out.println("Error getting all customers: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error getting all customers: " + e.getMessage(), e);
         }
         return customers;
     }
@@ -197,11 +366,13 @@ public class CustomerDAO {
             pstmt.setString(10, customer.getCustomerId());
 
             int rowsAffected = pstmt.executeUpdate();
+            CACHE.invalidate(customer.getCustomerId());
+            // Cached account lists are looked up by owner; drop this one's
+            AccountDAO.getCache().invalidateCustomer(customer.getCustomerId());
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.out.println("Error updating customer: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error updating customer: " + e.getMessage(), e);
             return false;
         }
     }
@@ -215,15 +386,36 @@ public class CustomerDAO {
 
             pstmt.setString(1, customerId);
             int rowsAffected = pstmt.executeUpdate();
+            CACHE.invalidate(customerId);
+            evictAccounts(conn, customerId);
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.out.println("Error deleting customer: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error deleting customer: " + e.getMessage(), e);
             return false;
         }
     }
 
+    // The accounts rows are not deleted with the customer, so they still name
+    // their owner; none of them may be served from cache afterwards
+    private static void evictAccounts(Connection conn, String customerId) {
+        List<String> accountNumbers = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT account_number FROM accounts WHERE customer_id = ?")) {
+            pstmt.setString(1, customerId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    accountNumbers.add(rs.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            // The customer is already gone; without the list, drop every cached account
+            LOG.warn("Could not list accounts of deleted customer " + customerId + ": " + e.getMessage());
+            AccountDAO.getCache().invalidateAll();
+            return;
+        }
+        AccountDAO.getCache().invalidateCustomerAccounts(customerId, accountNumbers);
+    }
+
     // Check if customer exists
     public boolean customerExists(String customerId) {
         String sql = "SELECT 1 FROM customers WHERE customer_id = ?";
@@ -236,8 +428,7 @@ public class CustomerDAO {
             return rs.next();
 
         } catch (SQLException e) {
-            System.out.println("Error checking customer existence: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error checking customer existence: " + e.getMessage(), e);
             return false;
         }
     }
@@ -254,38 +445,11 @@ public class CustomerDAO {
             ResultSet rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                if ("COMPANY".equalsIgnoreCase(customerType)) {
-                    CompanyCustomer customer = new CompanyCustomer(
-                            rs.getString("customer_id"),           // username
-                            rs.getString("password"),              // password
-                            rs.getString("company_name"),         // companyName
-                            rs.getString("address"),              // address
-                            rs.getString("phone_number"),         // phoneNumber
-                            rs.getString("registration_number"),  // registrationNumber
-                            rs.getString("first_name") + " " + rs.getString("last_name"), // contactName
-                            rs.getString("company_address")       // companyAddress
-                    );
-                    customer.setEmail(rs.getString("email"));
-                    customers.add(customer);
-                } else {
-                    // Individual customer
-                    IndividualCustomer customer = new IndividualCustomer(
-                            rs.getString("customer_id"),          // username
-                            rs.getString("password"),             // password
-                            rs.getString("first_name"),           // firstName
-                            rs.getString("last_name"),            // lastName
-                            rs.getString("address"),              // address
-                            rs.getString("phone_number"),         // phoneNumber
-                            rs.getString("email")                 // email
-                    );
-                    customer.setEmploymentInfo(rs.getString("employment_info"));
-                    customers.add(customer);
-                }
+                customers.add(mapCustomer(rs));
             }
 
         } catch (SQLException e) {
-            System.out.println("Error getting customers by type: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error getting customers by type: " + e.getMessage(), e);
         }
         return customers;
     }
@@ -301,11 +465,11 @@ public class CustomerDAO {
             pstmt.setString(2, customerId);
 
             int rowsAffected = pstmt.executeUpdate();
+            CACHE.invalidate(customerId);
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.out.println("Error changing password: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error changing password: " + e.getMessage(), e);
             return false;
         }
     }
@@ -315,33 +479,32 @@ public class CustomerDAO {
         try (Connection conn = DatabaseConnection.getConnection();
              Statement stmt = conn.createStatement()) {
 
-            System.out.println("=== DEBUG DATABASE CONTENTS ===");
+            StringBuilder info = new StringBuilder("Database contents:");
 
             // Check customers table structure
             ResultSet rs = stmt.executeQuery("PRAGMA table_info(customers)");
-            System.out.println("CUSTOMERS TABLE COLUMNS:");
+            info.append("\nCUSTOMERS TABLE COLUMNS:");
             while (rs.next()) {
-                System.out.println("  - " + rs.getString("name") + " (" + rs.getString("type") + ")");
+                info.append("\n  - ").append(rs.getString("name")).append(" (").append(rs.getString("type")).append(")");
             }
 
             // Check customers count
             rs = stmt.executeQuery("SELECT COUNT(*) as count FROM customers");
             rs.next();
-            System.out.println("Total customers: " + rs.getInt("count"));
+            info.append("\nTotal customers: ").append(rs.getInt("count"));
 
             // List all customers
             rs = stmt.executeQuery("SELECT customer_id, first_name, last_name, customer_type FROM customers");
             while (rs.next()) {
-                System.out.println("Customer: " + rs.getString("customer_id") +
-                        " - " + rs.getString("first_name") + " " + rs.getString("last_name") +
-                        " (" + rs.getString("customer_type") + ")");
+                info.append("\nCustomer: ").append(rs.getString("customer_id"))
+                        .append(" - ").append(rs.getString("first_name")).append(" ").append(rs.getString("last_name"))
+                        .append(" (").append(rs.getString("customer_type")).append(")");
             }
 
-            System.out.println("=== END DEBUG ===");
+            LOG.info(info.toString());
 
         } catch (SQLException e) {
-            System.out.println("Debug error: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Debug error: " + e.getMessage(), e);
         }
     }
 }
\ No newline at end of file
@@ -6,17 +6,24 @@ import javafx.scene.layout.*;
 import java.util.List;
 
 public class CustomerDashboardScreen {
+
+    private static final Log LOG = Log.get("ui.dashboard");
+
     private Scene scene;
     private NavigationController navigationController;
     private BankingSystem bankingSystem;
     private AccountDAO accountDAO;
     private TransactionDAO transactionDAO;
+    private StatementGenerator statementGenerator;
+    private ScreenTasks tasks;
 
     public CustomerDashboardScreen(NavigationController navigationController, BankingSystem bankingSystem) {
         this.navigationController = navigationController;
         this.bankingSystem = bankingSystem;
         this.accountDAO = new AccountDAO();
         this.transactionDAO = new TransactionDAO();
+        this.statementGenerator = new StatementGenerator(accountDAO, transactionDAO);
+        this.tasks = navigationController.getScreenTasks();
         createUI();
     }
 
@@ -93,14 +100,36 @@ public class CustomerDashboardScreen {
         content.setPadding(new Insets(20));
         content.setAlignment(Pos.TOP_LEFT);
 
+        // Both cards render at once and fill in from one background read
+        Label accountCountValue = new Label("…");
+        Label totalBalanceValue = new Label("…");
+        Label transactionCountValue = new Label("…");
+
         // Welcome card
-        VBox welcomeCard = createWelcomeCard();
+        VBox welcomeCard = createWelcomeCard(accountCountValue, totalBalanceValue, transactionCountValue);
 
         // Accounts summary
         VBox accountsSummary = createAccountsSummary();
 
         content.getChildren().addAll(welcomeCard, accountsSummary);
 
+        tasks.load(() -> {
+            List<Account> accounts = getCurrentCustomerAccounts();
+            return new DashboardSummary(accounts, getTotalTransactionCount(accounts));
+        }, summary -> {
+            long totalBalance = summary.accounts.stream().mapToLong(a -> a.getBalance().getThebe()).sum();
+            accountCountValue.setText(String.valueOf(summary.accounts.size()));
+            totalBalanceValue.setText(Money.format(totalBalance));
+            transactionCountValue.setText(String.valueOf(summary.transactionCount));
+            showAccountsSummary(accountsSummary, summary.accounts);
+        }, error -> {
+            LOG.error("Error loading customer dashboard: " + error.getMessage());
+            accountCountValue.setText("-");
+            totalBalanceValue.setText("-");
+            transactionCountValue.setText("-");
+            replaceSummaryText(accountsSummary, "Could not load your accounts.");
+        });
+
         ScrollPane scrollPane = new ScrollPane(content);
         scrollPane.setFitToWidth(true);
         scrollPane.setFitToHeight(true);
@@ -111,7 +140,7 @@ public class CustomerDashboardScreen {
         return scrollPane;
     }
 
-    private VBox createWelcomeCard() {
+    private VBox createWelcomeCard(Label accountCountValue, Label totalBalanceValue, Label transactionCountValue) {
         VBox card = new VBox(20);
         card.getStyleClass().add("card");
         card.setMaxWidth(600);
@@ -130,15 +159,10 @@ public class CustomerDashboardScreen {
 
         // Quick stats
         HBox statsBox = new HBox(20);
-        List<Account> accounts = getCurrentCustomerAccounts();
-        int accountCount = accounts.size();
-        double totalBalance = accounts.stream().mapToDouble(Account::getBalance).sum();
-        int transactionCount = getTotalTransactionCount(accounts);
-
         statsBox.getChildren().addAll(
-                createStatCard("Total Accounts", String.valueOf(accountCount)),
-                createStatCard("Total Balance", "P" + String.format("%.2f", totalBalance)),
-                createStatCard("Total Transactions", String.valueOf(transactionCount))
+                createStatCard("Total Accounts", accountCountValue),
+                createStatCard("Total Balance", totalBalanceValue),
+                createStatCard("Total Transactions", transactionCountValue)
         );
 
         card.getChildren().addAll(welcomeTitle, welcomeText, statsBox);
@@ -153,22 +177,31 @@ public class CustomerDashboardScreen {
         Label summaryTitle = new Label("Your Accounts Summary");
         summaryTitle.getStyleClass().add("card-title");
 
-        List<Account> accounts = getCurrentCustomerAccounts();
+        Label loadingLabel = new Label("Loading accounts...");
+        loadingLabel.setStyle("-fx-text-fill: #7f8c8d; -fx-font-size: 14px;");
+        summaryBox.getChildren().addAll(summaryTitle, loadingLabel);
+
+        return summaryBox;
+    }
 
+    // Replaces the loading placeholder below the card title
+    private void showAccountsSummary(VBox summaryBox, List<Account> accounts) {
         if (accounts.isEmpty()) {
-            Label noAccountsLabel = new Label("You don't have any accounts yet.");
-            noAccountsLabel.setStyle("-fx-text-fill: #7f8c8d; -fx-font-size: 14px;");
-            summaryBox.getChildren().addAll(summaryTitle, noAccountsLabel);
-        } else {
-            VBox accountsList = new VBox(10);
-            for (Account account : accounts) {
-                HBox accountItem = createAccountItem(account);
-                accountsList.getChildren().add(accountItem);
-            }
-            summaryBox.getChildren().addAll(summaryTitle, accountsList);
+            replaceSummaryText(summaryBox, "You don't have any accounts yet.");
+            return;
+        }
+        VBox accountsList = new VBox(10);
+        for (Account account : accounts) {
+            HBox accountItem = createAccountItem(account);
+            accountsList.getChildren().add(accountItem);
         }
+        summaryBox.getChildren().set(1, accountsList);
+    }
 
-        return summaryBox;
+    private void replaceSummaryText(VBox summaryBox, String text) {
+        Label textLabel = new Label(text);
+        textLabel.setStyle("-fx-text-fill: #7f8c8d; -fx-font-size: 14px;");
+        summaryBox.getChildren().set(1, textLabel);
     }
 
     private HBox createAccountItem(Account account) {
@@ -194,13 +227,12 @@ public class CustomerDashboardScreen {
         return accountItem;
     }
 
-    private VBox createStatCard(String label, String value) {
+    private VBox createStatCard(String label, Label valueLabel) {
         VBox statCard = new VBox(10);
         statCard.getStyleClass().add("stat-card");
         statCard.setPadding(new Insets(20));
         statCard.setPrefSize(150, 100);
 
-        Label valueLabel = new Label(value);
         valueLabel.getStyleClass().add("stat-value");
 
         Label nameLabel = new Label(label);
@@ -238,8 +270,11 @@ public class CustomerDashboardScreen {
     // ADD THIS METHOD: Customer-specific account view
     private void showCustomerAccountView() {
         Customer customer = bankingSystem.getCurrentCustomer();
-        List<Account> accounts = getCurrentCustomerAccounts();
+        tasks.load(this::getCurrentCustomerAccounts, accounts -> showAccountView(customer, accounts),
+                error -> showError("Failed to load your accounts: " + error.getMessage()));
+    }
 
+    private void showAccountView(Customer customer, List<Account> accounts) {
         StringBuilder accountInfo = new StringBuilder();
         accountInfo.append("=== YOUR ACCOUNTS ===\n\n");
 
@@ -276,7 +311,16 @@ public class CustomerDashboardScreen {
         alert.showAndWait();
     }
 
+    // History dialog shows only the most recent page of each account
+    private static final int HISTORY_PAGE_SIZE = 50;
+
     private void showCustomerTransactionHistory() {
+        tasks.load(this::describeTransactionHistory, this::showTransactionHistory,
+                error -> showError("Failed to load your transactions: " + error.getMessage()));
+    }
+
+    // Runs off the FX thread: one page query per account, plus a COUNT where there is more
+    private String describeTransactionHistory() {
         List<Account> accounts = getCurrentCustomerAccounts();
         StringBuilder message = new StringBuilder("Your Transaction History:\n\n");
 
@@ -285,12 +329,17 @@ public class CustomerDashboardScreen {
         } else {
             boolean hasTransactions = false;
             for (Account account : accounts) {
-                List<Transaction> transactions = transactionDAO.getTransactionsByAccount(account.getAccountNumber());
+                TransactionPage page = transactionDAO.getTransactionPage(account.getAccountNumber(), null, HISTORY_PAGE_SIZE);
+                List<Transaction> transactions = page.getTransactions();
                 if (!transactions.isEmpty()) {
                     hasTransactions = true;
                     message.append("=== ").append(account.getAccountNumber()).append(" ===\n");
                     for (Transaction transaction : transactions) {
-                        message.append(transaction.toString()).append("\n");
+                        TransactionRenderer.appendLine(message, transaction).append('\n');
+                    }
+                    if (page.hasMore()) {
+                        message.append("... showing latest ").append(transactions.size()).append(" of ")
+                                .append(transactionDAO.getTransactionCount(account.getAccountNumber())).append("\n");
                     }
                     message.append("\n");
                 }
@@ -299,8 +348,11 @@ public class CustomerDashboardScreen {
                 message.append("No transactions found for your accounts.");
             }
         }
+        return message.toString();
+    }
 
-        TextArea textArea = new TextArea(message.toString());
+    private void showTransactionHistory(String message) {
+        TextArea textArea = new TextArea(message);
         textArea.setEditable(false);
         textArea.setWrapText(true);
         textArea.setPrefSize(600, 400);
@@ -312,58 +364,20 @@ public class CustomerDashboardScreen {
         alert.showAndWait();
     }
 
+    // Full history, streamed to a file and previewed a page at a time
     private void generateCustomerStatement() {
         Customer customer = bankingSystem.getCurrentCustomer();
-        List<Account> accounts = getCurrentCustomerAccounts();
-
-        StringBuilder statement = new StringBuilder();
-        statement.append("=== ACCOUNT STATEMENT ===\n\n");
-        statement.append("Customer: ").append(customer.getDisplayName()).append("\n");
-        statement.append("Customer Type: ").append(customer.getCustomerType()).append("\n");
-        statement.append("Statement Date: ").append(java.time.LocalDate.now()).append("\n\n");
-
-        if (accounts.isEmpty()) {
-            statement.append("No accounts found.\n");
-        } else {
-            double totalBalance = 0;
-            int totalTransactions = 0;
-
-            for (Account account : accounts) {
-                statement.append("Account: ").append(account.getAccountNumber()).append("\n");
-                statement.append("Type: ").append(account.getAccountType()).append("\n");
-                statement.append("Balance: ").append(account.getFormattedBalance()).append("\n");
-                statement.append("Branch: ").append(account.getBranch()).append("\n");
-
-                List<Transaction> transactions = transactionDAO.getTransactionsByAccount(account.getAccountNumber());
-                totalTransactions += transactions.size();
-                totalBalance += account.getBalance();
-
-                if (transactions.isEmpty()) {
-                    statement.append("No transactions.\n");
-                } else {
-                    statement.append("Recent Transactions:\n");
-                    for (Transaction transaction : transactions) {
-                        statement.append("  ").append(transaction.toString()).append("\n");
-                    }
-                }
-                statement.append("\n");
-            }
-
-            statement.append("=== SUMMARY ===\n");
-            statement.append("Total Accounts: ").append(accounts.size()).append("\n");
-            statement.append("Total Balance: P").append(String.format("%.2f", totalBalance)).append("\n");
-            statement.append("Total Transactions: ").append(totalTransactions).append("\n");
-        }
-
-        TextArea textArea = new TextArea(statement.toString());
-        textArea.setEditable(false);
-        textArea.setWrapText(true);
-        textArea.setPrefSize(600, 400);
+        tasks.load(() -> statementGenerator.generateToTempFile(customer, null, null, true, StatementFormat.TEXT),
+                file -> StatementPreview.showDialog("Account Statement", "Your Personal Account Statement",
+                        file, StatementFormat.TEXT, tasks),
+                error -> showError("Failed to generate statement: " + error.getMessage()));
+    }
 
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle("Account Statement");
-        alert.setHeaderText("Your Personal Account Statement");
-        alert.getDialogPane().setContent(textArea);
+    private void showError(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
         alert.showAndWait();
     }
 
@@ -378,12 +392,21 @@ public class CustomerDashboardScreen {
     private int getTotalTransactionCount(List<Account> accounts) {
         int total = 0;
         for (Account account : accounts) {
-            List<Transaction> transactions = transactionDAO.getTransactionsByAccount(account.getAccountNumber());
-            total += transactions.size();
+            total += transactionDAO.getTransactionCount(account.getAccountNumber());
         }
         return total;
     }
 
+    private static class DashboardSummary {
+        final List<Account> accounts;
+        final int transactionCount;
+
+        DashboardSummary(List<Account> accounts, int transactionCount) {
+            this.accounts = accounts;
+            this.transactionCount = transactionCount;
+        }
+    }
+
     public Scene getScene() {
         return scene;
     }
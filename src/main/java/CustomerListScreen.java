@@ -1,25 +1,41 @@
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
-import java.util.List;
+import javafx.util.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 public class CustomerListScreen {
+
+    private static final Log LOG = Log.get("ui.customer");
+
+    // Wait for a pause in typing before filtering
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(150);
+
     private Scene scene;
     private NavigationController navigationController;
     private BankingSystem bankingSystem;
     private CustomerDAO customerDAO;
     private AccountDAO accountDAO;
     private TransactionDAO transactionDAO;
+    private StatisticsDAO statisticsDAO;
+    private StatementGenerator statementGenerator;
+    private ScreenTasks tasks;
 
     // UI components
     private TableView<Customer> customerTable;
-    private ObservableList<Customer> customerData;
+    private FilteredList<Customer> filteredCustomers;
+    private CustomerSearchIndex searchIndex;
+    // Account count and balance per customer id, loaded with the customer list
+    private Map<String, StatisticsDAO.Breakdown> rollups = Collections.emptyMap();
     private TextField searchField;
 
     public CustomerListScreen(NavigationController navigationController, BankingSystem bankingSystem) {
@@ -28,6 +44,9 @@ public class CustomerListScreen {
         this.customerDAO = new CustomerDAO();
         this.accountDAO = new AccountDAO();
         this.transactionDAO = new TransactionDAO();
+        this.statisticsDAO = new StatisticsDAO();
+        this.statementGenerator = new StatementGenerator(accountDAO, transactionDAO);
+        this.tasks = navigationController.getScreenTasks();
         createUI();
     }
 
@@ -108,7 +127,9 @@ public class CustomerListScreen {
         searchField.setPromptText("Search by name or ID...");
         searchField.getStyleClass().add("form-field");
         searchField.setPrefWidth(250);
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> filterCustomers());
+        PauseTransition searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+        searchDebounce.setOnFinished(e -> filterCustomers());
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> searchDebounce.playFromStart());
 
         // Action buttons
         Button refreshButton = new Button("Refresh");
@@ -166,7 +187,7 @@ public class CustomerListScreen {
         emailCol.setCellValueFactory(new PropertyValueFactory<>("email"));
         emailCol.setPrefWidth(150);
 
-        // FIXED: Accounts column with proper lambda expression
+        // Accounts and balance come from the rollup map, never from a query per row
         TableColumn<Customer, String> accountsCol = new TableColumn<>("Accounts");
         accountsCol.setCellValueFactory(cellData -> {
             String customerId = cellData.getValue().getCustomerId();
@@ -175,12 +196,11 @@ public class CustomerListScreen {
         });
         accountsCol.setPrefWidth(80);
 
-        // FIXED: Balance column with proper lambda expression
         TableColumn<Customer, String> balanceCol = new TableColumn<>("Total Balance");
         balanceCol.setCellValueFactory(cellData -> {
             String customerId = cellData.getValue().getCustomerId();
-            double totalBalance = getCustomerTotalBalance(customerId);
-            return new javafx.beans.property.SimpleStringProperty(String.format("P%.2f", totalBalance));
+            Money totalBalance = getCustomerTotalBalance(customerId);
+            return new javafx.beans.property.SimpleStringProperty(totalBalance.toString());
         });
         balanceCol.setPrefWidth(120);
 
@@ -193,72 +213,62 @@ public class CustomerListScreen {
         return section;
     }
 
+    // The table renders empty and fills in when the query returns
     private void loadCustomers() {
-        try {
+        customerTable.setPlaceholder(new Label("Loading customers..."));
+        tasks.load(() -> {
             List<Customer> customers = customerDAO.getAllCustomers();
-            customerData = FXCollections.observableArrayList(customers);
-            customerTable.setItems(customerData);
-
+            Map<String, StatisticsDAO.Breakdown> customerRollups = statisticsDAO.getCustomerRollups();
             // Update statistics
-            updateStatistics(customers);
-
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load customers: " + e.getMessage());
-        }
+            updateStatistics(customers, customerRollups);
+            return new CustomerRows(customers, customerRollups, new CustomerSearchIndex(customers));
+        }, rows -> {
+            rollups = rows.rollups;
+            searchIndex = rows.searchIndex;
+            filteredCustomers = new FilteredList<>(FXCollections.observableArrayList(rows.customers));
+            // Lets the table's column sorting work on top of the filter
+            SortedList<Customer> sortedCustomers = new SortedList<>(filteredCustomers);
+            sortedCustomers.comparatorProperty().bind(customerTable.comparatorProperty());
+            customerTable.setItems(sortedCustomers);
+            customerTable.setPlaceholder(new Label("No customers found."));
+            // Keeps whatever the user typed while the list was loading
+            filterCustomers();
+        }, error -> {
+            customerTable.setPlaceholder(new Label("Could not load customers."));
+            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load customers: " + error.getMessage());
+        });
     }
 
-    private void updateStatistics(List<Customer> customers) {
+    private void updateStatistics(List<Customer> customers, Map<String, StatisticsDAO.Breakdown> customerRollups) {
         int totalCustomers = customers.size();
-        int totalAccounts = customers.stream()
-                .mapToInt(c -> getCustomerAccountCount(c.getCustomerId()))
-                .sum();
-        double totalBalance = customers.stream()
-                .mapToDouble(c -> getCustomerTotalBalance(c.getCustomerId()))
-                .sum();
-
-        System.out.println("Customer Statistics:");
-        System.out.println("Total Customers: " + totalCustomers);
-        System.out.println("Total Accounts: " + totalAccounts);
-        System.out.println("Total Balance: P" + String.format("%.2f", totalBalance));
+        int totalAccounts = 0;
+        long totalBalance = 0;
+        for (StatisticsDAO.Breakdown rollup : customerRollups.values()) {
+            totalAccounts += rollup.getCount();
+            totalBalance += rollup.getTotalBalance().getThebe();
+        }
+
+        int accounts = totalAccounts;
+        long balance = totalBalance;
+        LOG.debug(() -> "Customer statistics: " + totalCustomers + " customers, " + accounts +
+                " accounts, total balance " + Money.format(balance));
     }
 
     private void filterCustomers() {
-        String searchText = searchField.getText().toLowerCase();
-        if (searchText.isEmpty()) {
-            customerTable.setItems(customerData);
-        } else {
-            ObservableList<Customer> filteredData = FXCollections.observableArrayList();
-            for (Customer customer : customerData) {
-                if (customer.getCustomerId().toLowerCase().contains(searchText) ||
-                        customer.getDisplayName().toLowerCase().contains(searchText) ||
-                        customer.getPhoneNumber().toLowerCase().contains(searchText) ||
-                        customer.getEmail().toLowerCase().contains(searchText)) {
-                    filteredData.add(customer);
-                }
-            }
-            customerTable.setItems(filteredData);
+        if (filteredCustomers == null) {
+            return; // still loading; applied once the list arrives
         }
+        filteredCustomers.setPredicate(searchIndex.predicate(searchField.getText()));
     }
 
-    // UPDATED METHODS:
     private int getCustomerAccountCount(String customerId) {
-        try {
-            List<Account> accounts = accountDAO.getAccountsByCustomer(customerId);
-            return accounts.size();
-        } catch (Exception e) {
-            System.out.println("Error getting account count for customer " + customerId + ": " + e.getMessage());
-            return 0;
-        }
+        StatisticsDAO.Breakdown rollup = rollups.get(customerId);
+        return rollup != null ? rollup.getCount() : 0;
     }
 
-    private double getCustomerTotalBalance(String customerId) {
-        try {
-            List<Account> accounts = accountDAO.getAccountsByCustomer(customerId);
-            return accounts.stream().mapToDouble(Account::getBalance).sum();
-        } catch (Exception e) {
-            System.out.println("Error getting total balance for customer " + customerId + ": " + e.getMessage());
-            return 0.0;
-        }
+    private Money getCustomerTotalBalance(String customerId) {
+        StatisticsDAO.Breakdown rollup = rollups.get(customerId);
+        return rollup != null ? rollup.getTotalBalance() : Money.ZERO;
     }
 
     private void viewCustomerAccounts(TableView<Customer> table) {
@@ -268,10 +278,22 @@ public class CustomerListScreen {
             return;
         }
 
-        // Get fresh customer data with accounts from database
-        Customer freshCustomer = customerDAO.getCustomerById(selectedCustomer.getCustomerId());
-        List<Account> accounts = accountDAO.getAccountsByCustomer(selectedCustomer.getCustomerId());
+        // Fresh customer data, accounts and transaction counts, read off the FX thread
+        String customerId = selectedCustomer.getCustomerId();
+        tasks.load(() -> {
+            Customer freshCustomer = customerDAO.getCustomerById(customerId);
+            return freshCustomer == null ? null
+                    : describeAccounts(freshCustomer, accountDAO.getAccountsByCustomer(customerId));
+        }, accountsInfo -> {
+            if (accountsInfo == null) {
+                showAlert(Alert.AlertType.ERROR, "Error", "Selected customer not found.");
+                return;
+            }
+            showTextAlert("Accounts for " + selectedCustomer.getDisplayName(), accountsInfo);
+        }, error -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to load accounts: " + error.getMessage()));
+    }
 
+    private String describeAccounts(Customer freshCustomer, List<Account> accounts) {
         StringBuilder accountsInfo = new StringBuilder();
         accountsInfo.append("=== CUSTOMER ACCOUNTS ===\n\n");
         accountsInfo.append("Customer: ").append(freshCustomer.getDisplayName()).append("\n");
@@ -282,20 +304,20 @@ public class CustomerListScreen {
         if (accounts.isEmpty()) {
             accountsInfo.append("No accounts found for this customer.");
         } else {
-            double totalBalance = 0.0;
+            long totalBalance = 0;
             accountsInfo.append("ACCOUNTS:\n");
             accountsInfo.append("----------------------------------------\n");
 
             for (Account account : accounts) {
                 // Get transaction count for this account
-                List<Transaction> transactions = transactionDAO.getTransactionsByAccount(account.getAccountNumber());
+                int transactionCount = transactionDAO.getTransactionCount(account.getAccountNumber());
 
                 accountsInfo.append("Account Number: ").append(account.getAccountNumber()).append("\n");
                 accountsInfo.append("Account Type: ").append(account.getAccountType()).append("\n");
                 accountsInfo.append("Balance: ").append(account.getFormattedBalance()).append("\n");
                 accountsInfo.append("Branch: ").append(account.getBranch()).append("\n");
                 accountsInfo.append("Signatories: ").append(account.getSignatories().size()).append("\n");
-                accountsInfo.append("Transactions: ").append(transactions.size()).append("\n");
+                accountsInfo.append("Transactions: ").append(transactionCount).append("\n");
 
                 // Show signatories
                 List<String> signatories = account.getSignatories();
@@ -307,13 +329,12 @@ public class CustomerListScreen {
                 }
 
                 accountsInfo.append("----------------------------------------\n");
-                totalBalance += account.getBalance();
+                totalBalance += account.getBalance().getThebe();
             }
 
-            accountsInfo.append("\nTOTAL BALANCE: P").append(String.format("%.2f", totalBalance));
+            accountsInfo.append("\nTOTAL BALANCE: ").append(Money.format(totalBalance));
         }
-
-        showTextAlert("Accounts for " + freshCustomer.getDisplayName(), accountsInfo.toString());
+        return accountsInfo.toString();
     }
 
     private void generateCustomerStatement(TableView<Customer> table) {
@@ -323,61 +344,20 @@ public class CustomerListScreen {
             return;
         }
 
-        // Get fresh data from database
-        Customer freshCustomer = customerDAO.getCustomerById(selectedCustomer.getCustomerId());
-        List<Account> accounts = accountDAO.getAccountsByCustomer(selectedCustomer.getCustomerId());
-
-        StringBuilder statement = new StringBuilder();
-        statement.append("=== CUSTOMER ACCOUNT STATEMENT ===\n\n");
-        statement.append("Customer: ").append(freshCustomer.getDisplayName()).append("\n");
-        statement.append("Customer ID: ").append(freshCustomer.getCustomerId()).append("\n");
-        statement.append("Customer Type: ").append(freshCustomer.getCustomerType()).append("\n");
-        statement.append("Address: ").append(freshCustomer.getAddress()).append("\n");
-        statement.append("Phone: ").append(freshCustomer.getPhoneNumber()).append("\n");
-        statement.append("Statement Date: ").append(java.time.LocalDate.now()).append("\n\n");
-
-        if (accounts.isEmpty()) {
-            statement.append("No accounts found for this customer.\n");
-        } else {
-            double totalBalance = 0;
-            int totalTransactions = 0;
-
-            statement.append("ACCOUNT SUMMARY:\n");
-            statement.append("========================================\n");
-
-            for (Account account : accounts) {
-                statement.append("Account: ").append(account.getAccountNumber()).append("\n");
-                statement.append("Type: ").append(account.getAccountType()).append("\n");
-                statement.append("Balance: ").append(account.getFormattedBalance()).append("\n");
-                statement.append("Branch: ").append(account.getBranch()).append("\n");
-
-                List<Transaction> transactions = transactionDAO.getTransactionsByAccount(account.getAccountNumber());
-                totalTransactions += transactions.size();
-                totalBalance += account.getBalance();
-
-                if (transactions.isEmpty()) {
-                    statement.append("No transactions.\n");
-                } else {
-                    statement.append("Recent Transactions:\n");
-                    // Show last 5 transactions
-                    List<Transaction> recentTransactions = transactions.size() > 5 ?
-                            transactions.subList(transactions.size() - 5, transactions.size()) : transactions;
-                    Collections.reverse(recentTransactions); // Show newest first
-
-                    for (Transaction transaction : recentTransactions) {
-                        statement.append("  ").append(transaction.toString()).append("\n");
-                    }
-                }
-                statement.append("----------------------------------------\n");
+        // Full history from fresh data, streamed to a file and previewed a page at a time
+        String customerId = selectedCustomer.getCustomerId();
+        tasks.load(() -> {
+            Customer freshCustomer = customerDAO.getCustomerById(customerId);
+            return freshCustomer == null ? null
+                    : statementGenerator.generateToTempFile(freshCustomer, null, null, true, StatementFormat.TEXT);
+        }, file -> {
+            if (file == null) {
+                showAlert(Alert.AlertType.ERROR, "Error", "Selected customer not found.");
+                return;
             }
-
-            statement.append("\n=== SUMMARY ===\n");
-            statement.append("Total Accounts: ").append(accounts.size()).append("\n");
-            statement.append("Total Balance: P").append(String.format("%.2f", totalBalance)).append("\n");
-            statement.append("Total Transactions: ").append(totalTransactions).append("\n");
-        }
-
-        showTextAlert("Account Statement - " + freshCustomer.getDisplayName(), statement.toString());
+            StatementPreview.showDialog("Account Statement - " + selectedCustomer.getDisplayName(), null,
+                    file, StatementFormat.TEXT, tasks);
+        }, error -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to generate statement: " + error.getMessage()));
     }
 
     private void showAlert(Alert.AlertType type, String title, String message) {
@@ -409,4 +389,18 @@ public class CustomerListScreen {
     public Scene getScene() {
         return scene;
     }
+
+    // What loadCustomers hands from the reader thread to the FX thread
+    private static class CustomerRows {
+        final List<Customer> customers;
+        final Map<String, StatisticsDAO.Breakdown> rollups;
+        final CustomerSearchIndex searchIndex;
+
+        CustomerRows(List<Customer> customers, Map<String, StatisticsDAO.Breakdown> rollups,
+                     CustomerSearchIndex searchIndex) {
+            this.customers = customers;
+            this.rollups = rollups;
+            this.searchIndex = searchIndex;
+        }
+    }
 }
\ No newline at end of file
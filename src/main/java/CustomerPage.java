@@ -0,0 +1,37 @@
+import java.util.List;
+
+// One page of customer summaries in the requested order, plus the cursor for the next page
+public class CustomerPage {
+
+    public enum Sort { ID, NAME }
+
+    // Position after the last row of a page: the sort key (customer id or
+    // display name) and the customer id that breaks ties
+    public static class Cursor {
+        private final String sortKey;
+        private final String customerId;
+
+        public Cursor(String sortKey, String customerId) {
+            this.sortKey = sortKey;
+            this.customerId = customerId;
+        }
+
+        public String getSortKey() { return sortKey; }
+        public String getCustomerId() { return customerId; }
+    }
+
+    private final List<CustomerSummary> customers;
+    private final Cursor nextCursor;
+
+    public CustomerPage(List<CustomerSummary> customers, Cursor nextCursor) {
+        this.customers = customers;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<CustomerSummary> getCustomers() { return customers; }
+
+    // Null when this is the last page
+    public Cursor getNextCursor() { return nextCursor; }
+
+    public boolean hasMore() { return nextCursor != null; }
+}
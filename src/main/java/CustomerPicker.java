@@ -0,0 +1,129 @@
+import javafx.animation.PauseTransition;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+
+import java.util.concurrent.CompletableFuture;
+
+// Type-ahead customer picker. Shows customers a page at a time from
+// CustomerDAO.getCustomerPage, fetching the next page when the list is
+// scrolled near its end, so opening a screen reads one page rather than the
+// customers table. A new query cancels the lookup it replaces, and results
+// from an older query are dropped if they arrive late.
+public class CustomerPicker extends VBox {
+
+    private static final int PAGE_SIZE = 50;
+    // Beyond this the user is asked to type more instead of scrolling on
+    private static final int MAX_LOADED = 1000;
+    private static final Duration TYPING_PAUSE = Duration.millis(200);
+
+    private final CustomerDAO customerDAO;
+    private final ScreenTasks tasks;
+
+    private final TextField searchField;
+    private final ListView<CustomerSummary> resultList;
+    private final Label statusLabel;
+
+    private String query = "";
+    private long lookup;
+    private CompletableFuture<CustomerPage> pending;
+    private CustomerPage.Cursor nextCursor;
+
+    public CustomerPicker(CustomerDAO customerDAO, ScreenTasks tasks) {
+        super(5);
+        this.customerDAO = customerDAO;
+        this.tasks = tasks;
+
+        searchField = new TextField();
+        searchField.setPromptText("Search by customer ID or name...");
+        searchField.getStyleClass().add("form-field");
+
+        resultList = new ListView<>();
+        resultList.setPrefHeight(160);
+        resultList.setCellFactory(list -> new ListCell<CustomerSummary>() {
+            @Override
+            protected void updateItem(CustomerSummary item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : item.toString());
+                // Cells only exist for visible rows, so this fires as the end scrolls into view
+                if (!empty && getIndex() >= resultList.getItems().size() - 5) {
+                    loadNextPage();
+                }
+            }
+        });
+
+        statusLabel = new Label();
+        statusLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #666;");
+
+        PauseTransition typingPause = new PauseTransition(TYPING_PAUSE);
+        typingPause.setOnFinished(e -> search(searchField.getText().trim()));
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> typingPause.playFromStart());
+
+        getChildren().addAll(searchField, resultList, statusLabel);
+        search("");
+    }
+
+    // Null until the user picks a customer
+    public CustomerSummary getSelectedCustomer() {
+        return resultList.getSelectionModel().getSelectedItem();
+    }
+
+    public ReadOnlyObjectProperty<CustomerSummary> selectedCustomerProperty() {
+        return resultList.getSelectionModel().selectedItemProperty();
+    }
+
+    private void search(String text) {
+        query = text;
+        lookup++;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        nextCursor = null;
+        resultList.getItems().clear();
+        statusLabel.setText("Searching...");
+        fetch(null);
+    }
+
+    private void loadNextPage() {
+        if (pending != null || nextCursor == null) {
+            return;
+        }
+        if (resultList.getItems().size() >= MAX_LOADED) {
+            statusLabel.setText("Showing the first " + MAX_LOADED + " matches - keep typing to narrow the list");
+            return;
+        }
+        fetch(nextCursor);
+    }
+
+    private void fetch(CustomerPage.Cursor after) {
+        long thisLookup = lookup;
+        String thisQuery = query;
+        CompletableFuture<CustomerPage> future = tasks.read(() ->
+                customerDAO.getCustomerPage(null, thisQuery, CustomerPage.Sort.NAME, after, PAGE_SIZE));
+        pending = future;
+
+        tasks.onFx(future, page -> {
+            if (thisLookup != lookup) {
+                return; // a newer query replaced this one
+            }
+            pending = null;
+            nextCursor = page.getNextCursor();
+            resultList.getItems().addAll(page.getCustomers());
+            if (resultList.getItems().isEmpty()) {
+                statusLabel.setText("No customers match \"" + thisQuery + "\"");
+            } else {
+                statusLabel.setText(resultList.getItems().size() + (nextCursor != null ? "+" : "") + " customers");
+            }
+        }, error -> {
+            if (thisLookup != lookup) {
+                return;
+            }
+            pending = null;
+            statusLabel.setText("Could not load customers: " + error.getMessage());
+        });
+    }
+}
@@ -5,12 +5,16 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 
 public class CustomerRegistrationScreen {
+
+    private static final Log LOG = Log.get("ui.customer");
+
     private Scene scene;
     private NavigationController navigationController;
     private BankingSystem bankingSystem;
     private ToggleGroup customerTypeGroup;
     private VBox formFields;
     private CustomerDAO customerDAO;
+    private ScreenTasks tasks;
 
     // Field references for easier data collection
     private TextField customerIdField, addressField, phoneField, emailField;
@@ -22,6 +26,7 @@ public class CustomerRegistrationScreen {
         this.navigationController = navigationController;
         this.bankingSystem = bankingSystem;
         this.customerDAO = new CustomerDAO();
+        this.tasks = navigationController.getScreenTasks();
         createUI();
     }
 
@@ -105,7 +110,7 @@ public class CustomerRegistrationScreen {
         submitButton.getStyleClass().addAll("btn", "btn-success");
         submitButton.setPrefHeight(45);
         submitButton.setMaxWidth(Double.MAX_VALUE);
-        submitButton.setOnAction(e -> createCustomer());
+        submitButton.setOnAction(e -> createCustomer(submitButton));
 
         formContainer.getChildren().addAll(formTitle, typeSelection, formFields, submitButton);
         return formContainer;
@@ -237,7 +242,7 @@ public class CustomerRegistrationScreen {
         return label;
     }
 
-    private void createCustomer() {
+    private void createCustomer(Button submitButton) {
         try {
             String customerType = ((RadioButton) customerTypeGroup.getSelectedToggle()).getText().contains("Individual") ? "individual" : "company";
 
@@ -270,13 +275,6 @@ public class CustomerRegistrationScreen {
                 return;
             }
 
-            // Check if customer ID already exists
-            if (customerDAO.customerExists(customerId)) {
-                showAlert(Alert.AlertType.ERROR, "Error",
-                        "Customer ID already exists. Please use a different ID.");
-                return;
-            }
-
             // Validate type-specific required fields
             if (customerType.equals("individual")) {
                 if (firstNameField.getText().isEmpty() || lastNameField.getText().isEmpty()) {
@@ -294,10 +292,22 @@ public class CustomerRegistrationScreen {
                 }
             }
 
-            // Create customer using direct DAO
-            boolean success = createCustomerInDatabase(customerType, customerId);
-
-            if (success) {
+            // The duplicate check and the insert run on the database writer;
+            // the result is null on success, otherwise the message to show
+            Customer customer = buildCustomer(customerType, customerId);
+            submitButton.setDisable(true);
+            tasks.onFx(tasks.write(() -> {
+                // Check if customer ID already exists
+                if (customerDAO.customerExists(customerId)) {
+                    return "Customer ID already exists. Please use a different ID.";
+                }
+                return createCustomerInDatabase(customer) ? null : "Failed to create customer in database.";
+            }), problem -> {
+                submitButton.setDisable(false);
+                if (problem != null) {
+                    showAlert(Alert.AlertType.ERROR, "Error", problem);
+                    return;
+                }
                 showAlert(Alert.AlertType.INFORMATION, "Success",
                         "Customer created successfully!\n\n" +
                                 "Customer ID: " + customerId + "\n" +
@@ -306,55 +316,58 @@ public class CustomerRegistrationScreen {
 
                 // Clear form for next registration
                 clearForm();
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Error", "Failed to create customer in database.");
-            }
+            }, error -> {
+                submitButton.setDisable(false);
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to create customer: " + error.getMessage());
+                LOG.error("Failed to create customer: " + error.getMessage(), error);
+            });
 
         } catch (Exception e) {
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to create customer: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to create customer: " + e.getMessage(), e);
         }
     }
 
-    private boolean createCustomerInDatabase(String customerType, String customerId) {
-        try {
-            Customer customer;
-            String password = passwordField.getText();
+    // Reads the form, so it runs on the FX thread
+    private Customer buildCustomer(String customerType, String customerId) {
+        String password = passwordField.getText();
 
-            if (customerType.equals("individual")) {
-                customer = new IndividualCustomer(
-                        customerId,                    // customerId
-                        password,                     // password
-                        firstNameField.getText(),     // firstName
-                        lastNameField.getText(),      // lastName
-                        addressField.getText(),       // address
-                        phoneField.getText(),         // phoneNumber
-                        emailField.getText()          // email
-                );
-            } else {
-                customer = new CompanyCustomer(
-                        customerId,                    // customerId
-                        password,                     // password
-                        companyNameField.getText(),   // companyName
-                        addressField.getText(),       // address
-                        phoneField.getText(),         // phoneNumber
-                        regNumberField.getText(),     // registrationNumber
-                        contactNameField.getText(),   // contactName
-                        companyAddressField.getText() // companyAddress
-                );
-            }
+        if (customerType.equals("individual")) {
+            return new IndividualCustomer(
+                    customerId,                    // customerId
+                    password,                     // password
+                    firstNameField.getText(),     // firstName
+                    lastNameField.getText(),      // lastName
+                    addressField.getText(),       // address
+                    phoneField.getText(),         // phoneNumber
+                    emailField.getText()          // email
+            );
+        }
+        return new CompanyCustomer(
+                customerId,                    // customerId
+                password,                     // password
+                companyNameField.getText(),   // companyName
+                addressField.getText(),       // address
+                phoneField.getText(),         // phoneNumber
+                regNumberField.getText(),     // registrationNumber
+                contactNameField.getText(),   // contactName
+                companyAddressField.getText() // companyAddress
+        );
+    }
 
+    // Runs on the database writer thread
+    private boolean createCustomerInDatabase(Customer customer) {
+        try {
             // Save to database
             boolean success = customerDAO.createCustomer(customer);
 
             if (success) {
-                System.out.println("Customer created successfully: " + customerId);
+                LOG.info("Customer created: " + customer.getCustomerId());
                 return true;
             }
 
         } catch (Exception e) {
-            System.out.println("Error creating customer in database: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error creating customer in database: " + e.getMessage(), e);
         }
         return false;
     }
@@ -0,0 +1,164 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+// Substring search over customer id, name, phone and email, built once per
+// customer list. Each customer's fields are lower-cased into one string, and
+// every three-character sequence (trigram) maps to the sorted positions of the
+// customers containing it. A query of three or more characters only checks the
+// customers listed under its rarest trigram; a query that extends the previous
+// one only re-checks the previous matches. Queries run on one thread (the FX
+// thread); building can happen anywhere.
+public class CustomerSearchIndex {
+
+    // Keeps a match from spanning two fields
+    private static final char SEPARATOR = '\u0000';
+
+    private final String[] text;
+    private final Map<Customer, Integer> positions;
+    private final Map<Long, int[]> trigrams;
+
+    private String lastQuery = "";
+    private int[] lastMatches;
+
+    public CustomerSearchIndex(List<Customer> customers) {
+        this.text = new String[customers.size()];
+        this.positions = new IdentityHashMap<>(customers.size());
+
+        Map<Long, Postings> building = new HashMap<>();
+        for (int i = 0; i < text.length; i++) {
+            Customer customer = customers.get(i);
+            positions.put(customer, i);
+            text[i] = normalize(customer.getCustomerId()) + SEPARATOR +
+                    normalize(customer.getDisplayName()) + SEPARATOR +
+                    normalize(customer.getPhoneNumber()) + SEPARATOR +
+                    normalize(customer.getEmail());
+
+            String s = text[i];
+            for (int j = 0; j + 3 <= s.length(); j++) {
+                char a = s.charAt(j), b = s.charAt(j + 1), c = s.charAt(j + 2);
+                if (a == SEPARATOR || b == SEPARATOR || c == SEPARATOR) {
+                    continue;
+                }
+                building.computeIfAbsent(key(a, b, c), k -> new Postings()).add(i);
+            }
+        }
+
+        this.trigrams = new HashMap<>(building.size() * 4 / 3 + 1);
+        for (Map.Entry<Long, Postings> entry : building.entrySet()) {
+            trigrams.put(entry.getKey(), entry.getValue().toArray());
+        }
+    }
+
+    public int size() {
+        return text.length;
+    }
+
+    // Filter for a FilteredList; null (show everything) for a blank query
+    public Predicate<Customer> predicate(String query) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            lastQuery = "";
+            lastMatches = null;
+            return null;
+        }
+        BitSet hits = new BitSet(text.length);
+        for (int position : search(q)) {
+            hits.set(position);
+        }
+        return customer -> {
+            Integer position = positions.get(customer);
+            return position != null && hits.get(position);
+        };
+    }
+
+    // Positions, in list order, of the customers whose fields contain the query
+    public int[] search(String query) {
+        String q = normalize(query);
+        int[] candidates = null;
+
+        // Typing one more character can only narrow the previous result
+        if (lastMatches != null && !lastQuery.isEmpty() && q.contains(lastQuery)) {
+            candidates = lastMatches;
+        }
+        if (q.length() == 3) {
+            // The postings are the answer; nothing left to check
+            lastQuery = q;
+            lastMatches = rarestTrigram(q);
+            return lastMatches;
+        }
+        if (q.length() > 3) {
+            int[] rarest = rarestTrigram(q);
+            if (candidates == null || rarest.length < candidates.length) {
+                candidates = rarest;
+            }
+        }
+
+        int[] matches = new int[candidates != null ? candidates.length : text.length];
+        int count = 0;
+        if (candidates != null) {
+            for (int position : candidates) {
+                if (text[position].contains(q)) {
+                    matches[count++] = position;
+                }
+            }
+        } else {
+            for (int position = 0; position < text.length; position++) {
+                if (text[position].contains(q)) {
+                    matches[count++] = position;
+                }
+            }
+        }
+
+        lastQuery = q;
+        lastMatches = count == matches.length ? matches : Arrays.copyOf(matches, count);
+        return lastMatches;
+    }
+
+    private int[] rarestTrigram(String q) {
+        int[] rarest = null;
+        for (int j = 0; j + 3 <= q.length(); j++) {
+            int[] postings = trigrams.get(key(q.charAt(j), q.charAt(j + 1), q.charAt(j + 2)));
+            if (postings == null) {
+                return new int[0];
+            }
+            if (rarest == null || postings.length < rarest.length) {
+                rarest = postings;
+            }
+        }
+        return rarest;
+    }
+
+    private static long key(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    // Growable sorted int list; positions arrive in increasing order
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+// The few customer columns a list or picker needs. No credentials or contact
+// details; load the full Customer with CustomerDAO.getCustomerById when needed.
+public class CustomerSummary {
+    private final String customerId;
+    private final String displayName;
+    private final String customerType;
+
+    public CustomerSummary(String customerId, String displayName, String customerType) {
+        this.customerId = customerId;
+        this.displayName = displayName;
+        this.customerType = customerType;
+    }
+
+    public String getCustomerId() { return customerId; }
+    public String getDisplayName() { return displayName; }
+    public String getCustomerType() { return customerType; }
+
+    // Same "id - name" text the customer combo boxes have always shown
+    @Override
+    public String toString() {
+        return customerId + " - " + displayName;
+    }
+}
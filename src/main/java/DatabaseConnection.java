@@ -1,23 +1,203 @@
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteConnectionConfig;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public class DatabaseConnection {
+
+    private static final Log LOG = Log.get("db");
+
     private static final String URL = "jdbc:sqlite:banking.db";
 
+    // Pool settings, overridable with -Dbanking.db.pool.size=8 etc.
+    private static final int POOL_SIZE = Integer.getInteger("banking.db.pool.size", 8);
+    private static final long BORROW_TIMEOUT_MS = Long.getLong("banking.db.pool.borrowTimeoutMs", 30_000L);
+    private static final long IDLE_TIMEOUT_MS = Long.getLong("banking.db.pool.idleTimeoutMs", 300_000L);
+    private static final long VALIDATION_INTERVAL_MS = Long.getLong("banking.db.pool.validationIntervalMs", 30_000L);
+
+    private static final DatabaseProfile PROFILE = DatabaseProfile.fromSystemProperties();
+
+    private static final ConnectionPool POOL = new ConnectionPool(
+            URL, POOL_SIZE, BORROW_TIMEOUT_MS, IDLE_TIMEOUT_MS, VALIDATION_INTERVAL_MS,
+            DatabaseConnection::configureConnection);
+
+    // Schema version kept in PRAGMA user_version. Bump it whenever a migration
+    // is added to migrateSchema, and mirror the change in database_schema.sql
+    //   1 - lookup indexes
+    //   2 - money columns hold whole thebe (INTEGER) instead of decimal Pula
+    //   3 - running totals kept by triggers (balance_totals, customer_totals)
+    //   4 - customer display name index for paged browsing
+    private static final int SCHEMA_VERSION = 4;
+    private static final String[] INDEX_STATEMENTS = {
+            // AccountDAO.getAccountsByCustomer
+            "CREATE INDEX IF NOT EXISTS idx_accounts_customer ON accounts(customer_id)",
+            // AccountDAO.getSignatories
+            "CREATE INDEX IF NOT EXISTS idx_signatories_account ON account_signatories(account_number)",
+            // TransactionDAO history and date-range queries; transaction_id rides along as the rowid
+            "CREATE INDEX IF NOT EXISTS idx_transactions_account_date ON transactions(account_number, transaction_date)",
+            // CustomerDAO.getCustomersByType
+            "CREATE INDEX IF NOT EXISTS idx_customers_type ON customers(customer_type)"
+    };
+
+    // Converts Pula amounts written by version 1 and earlier into thebe
+    private static final String[] THEBE_MIGRATION = {
+            "UPDATE accounts SET balance = CAST(ROUND(balance * 100) AS INTEGER)," +
+                    " minimum_balance = CAST(ROUND(minimum_balance * 100) AS INTEGER)," +
+                    " initial_deposit = CAST(ROUND(initial_deposit * 100) AS INTEGER)",
+            "UPDATE transactions SET amount = CAST(ROUND(amount * 100) AS INTEGER)," +
+                    " balance_after = CAST(ROUND(balance_after * 100) AS INTEGER)",
+            "UPDATE interest_runs SET total_interest = CAST(ROUND(total_interest * 100) AS INTEGER)"
+    };
+
+    // CustomerDAO.getCustomerPage sorted by name; customer_id breaks ties and
+    // completes the keyset cursor
+    private static final String CUSTOMER_NAME_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_customers_name ON customers(" +
+                    CustomerDAO.DISPLAY_NAME_SQL + " COLLATE NOCASE, customer_id)";
+
+    // Running totals for the dashboard. Triggers keep them in step with every
+    // write to accounts and customers, inside the writer's own transaction, so
+    // no code path can post without updating them. StatisticsDAO can verify
+    // and rebuild them from the base tables.
+    private static final String[] RUNNING_TOTALS = {
+            "CREATE TABLE IF NOT EXISTS balance_totals (" +
+                    "    account_type VARCHAR(20) NOT NULL," +
+                    "    branch VARCHAR(100) NOT NULL," +
+                    "    account_count INTEGER NOT NULL DEFAULT 0," +
+                    "    total_balance INTEGER NOT NULL DEFAULT 0," +
+                    "    PRIMARY KEY (account_type, branch)" +
+                    ")",
+            "CREATE TABLE IF NOT EXISTS customer_totals (" +
+                    "    customer_type VARCHAR(20) PRIMARY KEY," +
+                    "    customer_count INTEGER NOT NULL DEFAULT 0" +
+                    ")",
+
+            "CREATE TRIGGER IF NOT EXISTS trg_accounts_totals_insert AFTER INSERT ON accounts BEGIN " +
+                    "INSERT INTO balance_totals (account_type, branch, account_count, total_balance) " +
+                    "VALUES (NEW.account_type, COALESCE(NEW.branch, 'Unknown'), 1, NEW.balance) " +
+                    "ON CONFLICT (account_type, branch) DO UPDATE SET " +
+                    "account_count = account_count + 1, total_balance = total_balance + excluded.total_balance; " +
+                    "END",
+            // The posting path: same group, so one row changes by the delta
+            "CREATE TRIGGER IF NOT EXISTS trg_accounts_totals_balance AFTER UPDATE OF balance, account_type, branch ON accounts " +
+                    "WHEN OLD.account_type IS NEW.account_type AND OLD.branch IS NEW.branch BEGIN " +
+                    "UPDATE balance_totals SET total_balance = total_balance + NEW.balance - OLD.balance " +
+                    "WHERE account_type = NEW.account_type AND branch = COALESCE(NEW.branch, 'Unknown'); " +
+                    "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_accounts_totals_regroup AFTER UPDATE OF balance, account_type, branch ON accounts " +
+                    "WHEN OLD.account_type IS NOT NEW.account_type OR OLD.branch IS NOT NEW.branch BEGIN " +
+                    "UPDATE balance_totals SET account_count = account_count - 1, total_balance = total_balance - OLD.balance " +
+                    "WHERE account_type = OLD.account_type AND branch = COALESCE(OLD.branch, 'Unknown'); " +
+                    "INSERT INTO balance_totals (account_type, branch, account_count, total_balance) " +
+                    "VALUES (NEW.account_type, COALESCE(NEW.branch, 'Unknown'), 1, NEW.balance) " +
+                    "ON CONFLICT (account_type, branch) DO UPDATE SET " +
+                    "account_count = account_count + 1, total_balance = total_balance + excluded.total_balance; " +
+                    "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_accounts_totals_delete AFTER DELETE ON accounts BEGIN " +
+                    "UPDATE balance_totals SET account_count = account_count - 1, total_balance = total_balance - OLD.balance " +
+                    "WHERE account_type = OLD.account_type AND branch = COALESCE(OLD.branch, 'Unknown'); " +
+                    "END",
+
+            "CREATE TRIGGER IF NOT EXISTS trg_customers_totals_insert AFTER INSERT ON customers BEGIN " +
+                    "INSERT INTO customer_totals (customer_type, customer_count) VALUES (NEW.customer_type, 1) " +
+                    "ON CONFLICT (customer_type) DO UPDATE SET customer_count = customer_count + 1; " +
+                    "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_customers_totals_retype AFTER UPDATE OF customer_type ON customers " +
+                    "WHEN OLD.customer_type IS NOT NEW.customer_type BEGIN " +
+                    "UPDATE customer_totals SET customer_count = customer_count - 1 WHERE customer_type = OLD.customer_type; " +
+                    "INSERT INTO customer_totals (customer_type, customer_count) VALUES (NEW.customer_type, 1) " +
+                    "ON CONFLICT (customer_type) DO UPDATE SET customer_count = customer_count + 1; " +
+                    "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_customers_totals_delete AFTER DELETE ON customers BEGIN " +
+                    "UPDATE customer_totals SET customer_count = customer_count - 1 WHERE customer_type = OLD.customer_type; " +
+                    "END"
+    };
+
+    // Hot lookups that must be answered from an index, checked at startup
+    private static final String[] HOT_QUERIES = {
+            "SELECT * FROM accounts WHERE customer_id = ?",
+            "SELECT signatory_name FROM account_signatories WHERE account_number = ?",
+            "SELECT * FROM transactions WHERE account_number = ? ORDER BY transaction_date DESC",
+            "SELECT * FROM transactions WHERE account_number = ? AND transaction_date BETWEEN ? AND ? ORDER BY transaction_date DESC",
+            "SELECT * FROM transactions WHERE account_number = ? AND transaction_date >= ? AND transaction_date < ? ORDER BY transaction_date DESC, transaction_id DESC",
+            "SELECT * FROM customers WHERE customer_type = ?",
+            "SELECT customer_id FROM customers WHERE customer_id > ? ORDER BY customer_id LIMIT ?",
+            "SELECT customer_id FROM customers WHERE " + CustomerDAO.DISPLAY_NAME_SQL + " COLLATE NOCASE > ? " +
+                    "ORDER BY " + CustomerDAO.DISPLAY_NAME_SQL + " COLLATE NOCASE, customer_id LIMIT ?"
+    };
+
     static {
         initializeDatabase();
     }
 
+    // Returns a pooled connection; close() hands it back to the pool
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL);
+        return POOL.getConnection();
+    }
+
+    public static ConnectionPool getPool() {
+        return POOL;
+    }
+
+    public static DatabaseProfile getProfile() {
+        return PROFILE;
+    }
+
+    // Called at startup once the schema is current; -Dbanking.db.pool.warmUp
+    // sets how many connections to open (default 2: the writer and one reader)
+    public static void warmUp() {
+        int count = Integer.getInteger("banking.db.pool.warmUp", 2);
+        try {
+            POOL.prewarm(count);
+        } catch (SQLException e) {
+            LOG.error("Error warming up connection pool: " + e.getMessage());
+        }
+    }
+
+    // Turns off auto-commit with BEGIN IMMEDIATE, so the transaction holds the
+    // write lock from its first statement. A plain (deferred) transaction that
+    // reads before it writes fails at once with SQLITE_BUSY if another
+    // connection commits in between, and busy_timeout cannot help it; use this
+    // for any transaction that reads first. Later transactions on the pooled
+    // connection start deferred again.
+    public static void beginImmediate(Connection conn) throws SQLException {
+        SQLiteConnectionConfig config = conn.unwrap(SQLiteConnection.class).getConnectionConfig();
+        SQLiteConfig.TransactionMode previous = config.getTransactionMode();
+        config.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+        try {
+            conn.setAutoCommit(false);
+        } finally {
+            config.setTransactionMode(previous);
+        }
+    }
+
+    // Pragma values SQLite actually has in effect, for status screens and logs
+    public static Map<String, String> getActiveSettings() throws SQLException {
+        try (Connection conn = getConnection()) {
+            return DatabaseProfile.readActiveSettings(conn);
+        }
+    }
+
+    // Runs once for every physical connection the pool opens
+    private static void configureConnection(Connection conn) throws SQLException {
+        PROFILE.applyToConnection(conn);
     }
 
     private static void initializeDatabase() {
         try (Connection conn = getConnection();
              Statement stmt = conn.createStatement()) {
 
+            // WAL lets statement reads run while tellers post
+            PROFILE.applyDatabaseWide(conn);
+
             // Create tables if they don't exist
             String[] sqlStatements = {
                     // Customers Table
@@ -49,18 +229,18 @@ public class DatabaseConnection {
                             "    date_created TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
                             ")",
 
-                    // Accounts Table
+                    // Accounts Table - balance, minimum_balance and initial_deposit are in thebe
                     "CREATE TABLE IF NOT EXISTS accounts (" +
                             "    account_number VARCHAR(20) PRIMARY KEY," +
                             "    customer_id VARCHAR(20) NOT NULL," +
                             "    account_type VARCHAR(20) NOT NULL," +
-                            "    balance DECIMAL(15,2) DEFAULT 0.00," +
+                            "    balance INTEGER DEFAULT 0," +
                             "    interest_rate DECIMAL(5,4) DEFAULT 0.0000," +
                             "    branch VARCHAR(100)," +
                             "    is_active BOOLEAN DEFAULT TRUE," +
                             "    opened_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                            "    minimum_balance DECIMAL(15,2) DEFAULT 0.00," +
-                            "    initial_deposit DECIMAL(15,2) DEFAULT 0.00," +
+                            "    minimum_balance INTEGER DEFAULT 0," +
+                            "    initial_deposit INTEGER DEFAULT 0," +
                             "    employer_name VARCHAR(100)," +
                             "    employer_address VARCHAR(200)," +
                             "    FOREIGN KEY (customer_id) REFERENCES customers(customer_id)" +
@@ -75,26 +255,102 @@ public class DatabaseConnection {
                             "    FOREIGN KEY (account_number) REFERENCES accounts(account_number)" +
                             ")",
 
-                    // Transactions Table
+                    // Transactions Table - amount and balance_after are in thebe
                     "CREATE TABLE IF NOT EXISTS transactions (" +
                             "    transaction_id INTEGER PRIMARY KEY AUTOINCREMENT," +
                             "    account_number VARCHAR(20) NOT NULL," +
                             "    transaction_type VARCHAR(20) NOT NULL," +
-                            "    amount DECIMAL(15,2) NOT NULL," +
-                            "    balance_after DECIMAL(15,2) NOT NULL," +
+                            "    amount INTEGER NOT NULL," +
+                            "    balance_after INTEGER NOT NULL," +
                             "    description VARCHAR(200)," +
                             "    transaction_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
                             "    FOREIGN KEY (account_number) REFERENCES accounts(account_number)" +
+                            ")",
+
+                    // One row per processed interest period (e.g. '2025-01'), keeps runs idempotent
+                    "CREATE TABLE IF NOT EXISTS interest_runs (" +
+                            "    period VARCHAR(7) PRIMARY KEY," +
+                            "    accounts_credited INTEGER NOT NULL," +
+                            "    total_interest INTEGER NOT NULL," +
+                            "    run_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
                             ")"
             };
 
             for (String sql : sqlStatements) {
                 stmt.execute(sql);
             }
-            System.out.println("Database initialized successfully!");
+            migrateSchema(conn);
+            // Settings and query plans are reported by HealthReport, not on every start
+            LOG.info("Database initialized");
 
         } catch (SQLException e) {
-            System.err.println("Error initializing database: " + e.getMessage());
+            LOG.error("Error initializing database: " + e.getMessage());
+        }
+    }
+
+    // Brings the file up to SCHEMA_VERSION in one transaction, so a failed
+    // upgrade leaves the old version untouched and is retried on next start
+    private static void migrateSchema(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            int installed;
+            try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+                installed = rs.next() ? rs.getInt(1) : 0;
+            }
+            if (installed >= SCHEMA_VERSION) {
+                return;
+            }
+
+            conn.setAutoCommit(false);
+            try {
+                if (installed < 1) {
+                    for (String sql : INDEX_STATEMENTS) {
+                        stmt.execute(sql);
+                    }
+                }
+                if (installed < 2) {
+                    for (String sql : THEBE_MIGRATION) {
+                        stmt.execute(sql);
+                    }
+                }
+                if (installed < 3) {
+                    for (String sql : RUNNING_TOTALS) {
+                        stmt.execute(sql);
+                    }
+                    // Seed the totals from whatever is already in the tables
+                    for (String sql : StatisticsDAO.REBUILD_TOTALS) {
+                        stmt.execute(sql);
+                    }
+                }
+                if (installed < 4) {
+                    stmt.execute(CUSTOMER_NAME_INDEX);
+                }
+                stmt.execute("ANALYZE");
+                stmt.execute("PRAGMA user_version = " + SCHEMA_VERSION);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            LOG.info("Database schema upgraded from version " + installed + " to " + SCHEMA_VERSION);
+        }
+    }
+
+    // Runs EXPLAIN QUERY PLAN over the hot queries and reports any that scan a table
+    public static List<String> checkQueryPlans(Connection conn) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        for (String sql : HOT_QUERIES) {
+            try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+                 ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String detail = rs.getString("detail");
+                    if (detail.startsWith("SCAN") || detail.contains("USE TEMP B-TREE")) {
+                        problems.add(detail + " <- " + sql);
+                    }
+                }
+            }
         }
+        return problems;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs DAO calls off the JavaFX Application Thread. Reads go to a small pool
+// sized to fit the connection pool; writes go through one thread so SQLite
+// never sees two writers from this process racing for its single write lock.
+public class DatabaseExecutor {
+
+    // One pooled connection is left free for the writer lane
+    private static final ExecutorService READERS = Executors.newFixedThreadPool(
+            Integer.getInteger("banking.db.readerThreads", Math.max(1, DatabaseConnection.getPool().getMaxSize() - 1)),
+            daemonThreads("db-reader"));
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(daemonThreads("db-writer"));
+
+    private DatabaseExecutor() {
+    }
+
+    public static <T> CompletableFuture<T> read(Callable<T> query) {
+        return CompletableFuture.supplyAsync(() -> call(query), READERS);
+    }
+
+    // Writes run one at a time, in submission order
+    public static <T> CompletableFuture<T> write(Callable<T> update) {
+        return CompletableFuture.supplyAsync(() -> call(update), WRITER);
+    }
+
+    // Lets queued writes finish, then stops both lanes
+    public static void shutdown() {
+        READERS.shutdown();
+        WRITER.shutdown();
+        try {
+            WRITER.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,113 @@
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// SQLite tuning applied at startup. The durability level is an explicit
+// choice (-Dbanking.db.durability=FULL|NORMAL|OFF) because it decides what
+// a committed posting survives.
+public class DatabaseProfile {
+
+    private static final Log LOG = Log.get("db");
+
+    public enum Durability {
+        // fsync on every commit - survives power loss
+        FULL,
+        // WAL checkpoints fsync, commits don't - survives app crashes, may drop
+        // the last commits on power loss
+        NORMAL,
+        // no fsync at all - bulk loads and throwaway databases only
+        OFF
+    }
+
+    private final String journalMode;
+    private final Durability durability;
+    private final int cacheSizeKb;
+    private final long mmapSizeBytes;
+    private final boolean tempStoreInMemory;
+    private final int busyTimeoutMs;
+
+    public DatabaseProfile(String journalMode, Durability durability, int cacheSizeKb,
+                           long mmapSizeBytes, boolean tempStoreInMemory, int busyTimeoutMs) {
+        this.journalMode = journalMode;
+        this.durability = durability;
+        this.cacheSizeKb = cacheSizeKb;
+        this.mmapSizeBytes = mmapSizeBytes;
+        this.tempStoreInMemory = tempStoreInMemory;
+        this.busyTimeoutMs = busyTimeoutMs;
+    }
+
+    public static DatabaseProfile fromSystemProperties() {
+        String level = System.getProperty("banking.db.durability", Durability.NORMAL.name());
+        Durability durability;
+        try {
+            durability = Durability.valueOf(level.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown banking.db.durability '" + level + "', expected FULL, NORMAL or OFF");
+        }
+
+        return new DatabaseProfile(
+                System.getProperty("banking.db.journalMode", "WAL"),
+                durability,
+                Integer.getInteger("banking.db.cacheSizeKb", 16_384),
+                Long.getLong("banking.db.mmapSizeBytes", 268_435_456L),
+                Boolean.parseBoolean(System.getProperty("banking.db.tempStoreInMemory", "true")),
+                Integer.getInteger("banking.db.busyTimeoutMs", 5_000));
+    }
+
+    // Journal mode is stored in the database file, so it only needs setting once
+    public String applyDatabaseWide(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA journal_mode = " + journalMode)) {
+            String active = rs.next() ? rs.getString(1) : null;
+            if (active == null || !active.equalsIgnoreCase(journalMode)) {
+                LOG.warn("Requested journal_mode " + journalMode + " but database reports " + active);
+            }
+            return active;
+        }
+    }
+
+    // These pragmas are per connection and must run on every new connection
+    public void applyToConnection(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + busyTimeoutMs);
+            stmt.execute("PRAGMA synchronous = " + durability.name());
+            // Negative cache_size is in KiB rather than pages
+            stmt.execute("PRAGMA cache_size = -" + cacheSizeKb);
+            stmt.execute("PRAGMA mmap_size = " + mmapSizeBytes);
+            stmt.execute("PRAGMA temp_store = " + (tempStoreInMemory ? "MEMORY" : "DEFAULT"));
+        }
+    }
+
+    // Reads back what SQLite actually has in effect on this connection
+    public static Map<String, String> readActiveSettings(Connection conn) throws SQLException {
+        String[] pragmas = {"journal_mode", "synchronous", "cache_size", "mmap_size", "temp_store", "busy_timeout"};
+        Map<String, String> settings = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement()) {
+            for (String pragma : pragmas) {
+                try (ResultSet rs = stmt.executeQuery("PRAGMA " + pragma)) {
+                    settings.put(pragma, rs.next() ? rs.getString(1) : "?");
+                }
+            }
+        }
+        return settings;
+    }
+
+    public String getJournalMode() { return journalMode; }
+    public Durability getDurability() { return durability; }
+    public int getCacheSizeKb() { return cacheSizeKb; }
+    public long getMmapSizeBytes() { return mmapSizeBytes; }
+    public boolean isTempStoreInMemory() { return tempStoreInMemory; }
+    public int getBusyTimeoutMs() { return busyTimeoutMs; }
+
+    @Override
+    public String toString() {
+        return "journal_mode=" + journalMode + ", durability=" + durability +
+                ", cache=" + cacheSizeKb + "KiB, mmap=" + mmapSizeBytes + "B" +
+                ", temp_store=" + (tempStoreInMemory ? "MEMORY" : "DEFAULT") +
+                ", busy_timeout=" + busyTimeoutMs + "ms";
+    }
+}
@@ -5,22 +5,24 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
-import java.util.List;
 
 public class EmployeeDashboardScreen {
+
+    private static final Log LOG = Log.get("ui.dashboard");
+
     private Scene scene;
     private NavigationController navigationController;
     private BankingSystem bankingSystem;
-    private CustomerDAO customerDAO;
-    private AccountDAO accountDAO;
-    private TransactionDAO transactionDAO;
+    private StatisticsDAO statisticsDAO;
+    private InterestEngine interestEngine;
+    private ScreenTasks tasks;
 
     public EmployeeDashboardScreen(NavigationController navigationController, BankingSystem bankingSystem) {
         this.navigationController = navigationController;
         this.bankingSystem = bankingSystem;
-        this.customerDAO = new CustomerDAO();
-        this.accountDAO = new AccountDAO();
-        this.transactionDAO = new TransactionDAO();
+        this.tasks = navigationController.getScreenTasks();
+        this.statisticsDAO = new StatisticsDAO();
+        this.interestEngine = new InterestEngine();
         createUI();
     }
 
@@ -108,40 +110,39 @@ public class EmployeeDashboardScreen {
         HBox statsGrid = new HBox(20);
         statsGrid.setAlignment(Pos.CENTER);
 
-        int totalCustomers = customerDAO.getAllCustomers().size();
-        int totalAccounts = accountDAO.getAllAccounts().size();
-        double totalBalance = calculateTotalBalance();
+        // Boxes show a placeholder until the figures arrive
+        Label totalCustomersValue = new Label("…");
+        Label totalAccountsValue = new Label("…");
+        Label totalBalanceValue = new Label("…");
 
-        VBox totalCustomersBox = createStatBox("Total Customers", String.valueOf(totalCustomers));
-        VBox totalAccountsBox = createStatBox("Total Accounts", String.valueOf(totalAccounts));
-        VBox totalBalanceBox = createStatBox("Total Balance", "P" + String.format("%.2f", totalBalance));
+        VBox totalCustomersBox = createStatBox("Total Customers", totalCustomersValue);
+        VBox totalAccountsBox = createStatBox("Total Accounts", totalAccountsValue);
+        VBox totalBalanceBox = createStatBox("Total Balance", totalBalanceValue);
 
         statsGrid.getChildren().addAll(totalCustomersBox, totalAccountsBox, totalBalanceBox);
         statsSection.getChildren().addAll(statsTitle, statsGrid);
 
-        return statsSection;
-    }
+        // One aggregate query instead of loading every customer and account
+        tasks.load(statisticsDAO::getOverview, overview -> {
+            totalCustomersValue.setText(String.valueOf(overview.getTotalCustomers()));
+            totalAccountsValue.setText(String.valueOf(overview.getTotalAccounts()));
+            totalBalanceValue.setText(overview.getTotalBalance().toString());
+        }, error -> {
+            LOG.error("Error loading overview: " + error.getMessage());
+            totalCustomersValue.setText("-");
+            totalAccountsValue.setText("-");
+            totalBalanceValue.setText("-");
+        });
 
-    private double calculateTotalBalance() {
-        double total = 0.0;
-        try {
-            List<Account> accounts = accountDAO.getAllAccounts();
-            for (Account account : accounts) {
-                total += account.getBalance();
-            }
-        } catch (Exception e) {
-            System.out.println("Error calculating total balance: " + e.getMessage());
-        }
-        return total;
+        return statsSection;
     }
 
-    private VBox createStatBox(String title, String value) {
+    private VBox createStatBox(String title, Label valueLabel) {
         VBox statBox = new VBox(10);
         statBox.setAlignment(Pos.CENTER);
         statBox.setPadding(new Insets(20));
         statBox.getStyleClass().add("stat-box");
 
-        Label valueLabel = new Label(value);
         valueLabel.getStyleClass().add("stat-value");
 
         Label titleLabel = new Label(title);
@@ -220,41 +221,15 @@ public class EmployeeDashboardScreen {
     }
 
     private void processMonthlyInterest() {
-        try {
-            int processedCount = 0;
-            List<Customer> customers = customerDAO.getAllCustomers();
-            for (Customer customer : customers) {
-                List<Account> accounts = accountDAO.getAccountsByCustomer(customer.getCustomerId());
-                for (Account account : accounts) {
-                    if (account instanceof SavingsAccount || account instanceof InvestmentAccount) {
-                        double interest = calculateInterestForAccount(account);
-                        if (interest > 0) {
-                            double newBalance = account.getBalance() + interest;
-                            if (accountDAO.updateAccountBalance(account.getAccountNumber(), newBalance)) {
-                                Transaction interestTransaction = new Transaction(
-                                        account.getAccountNumber(), "INTEREST", interest, newBalance, "Monthly interest payment"
-                                );
-                                if (transactionDAO.recordTransaction(interestTransaction)) {
-                                    processedCount++;
-                                }
-                            }
-                        }
-                    }
-                }
+        tasks.onFx(tasks.write(interestEngine::processMonthlyInterest), summary -> {
+            if (summary.isAlreadyProcessed()) {
+                showAlert("Interest Already Processed", "Interest for " + summary.getPeriod() +
+                        " was already paid to " + summary.getAccountsCredited() + " accounts.");
+            } else {
+                showAlert("Interest Processed", "Processed interest for " + summary.getAccountsCredited() +
+                        " accounts!\nTotal interest paid: " + summary.getTotalInterest());
             }
-            showAlert("Interest Processed", "Processed interest for " + processedCount + " accounts!");
-        } catch (Exception e) {
-            showAlert("Error", "Failed to process interest: " + e.getMessage());
-        }
-    }
-
-    private double calculateInterestForAccount(Account account) {
-        if (account instanceof SavingsAccount) {
-            return account.getBalance() * 0.0005;
-        } else if (account instanceof InvestmentAccount) {
-            return account.getBalance() * 0.05;
-        }
-        return 0.0;
+        }, error -> showAlert("Error", "Failed to process interest: " + error.getMessage()));
     }
 
     private void showAlert(String title, String message) {
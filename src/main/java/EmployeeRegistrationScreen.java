@@ -8,10 +8,14 @@ import java.util.List;      // ← ADD THIS IMPORT TOO
 
 
 public class EmployeeRegistrationScreen {
+
+    private static final Log LOG = Log.get("ui.employee");
+
     private Scene scene;
     private NavigationController navigationController;
     private BankingSystem bankingSystem;
     private BankEmployeeDAO employeeDAO;
+    private ScreenTasks tasks;
 
 
     private void createUI() {
@@ -56,6 +60,7 @@ public class EmployeeRegistrationScreen {
         Button registerButton = new Button("Register Employee");
         registerButton.setStyle("-fx-background-color: #2e8b57; -fx-text-fill: white;");
         registerButton.setOnAction(e -> registerEmployee(
+                registerButton,
                 employeeIdField.getText(),
                 passwordField.getText(),
                 confirmPasswordField.getText(),
@@ -110,7 +115,7 @@ public class EmployeeRegistrationScreen {
         return label;
     }
 
-    private void registerEmployee(String employeeId, String password, String confirmPassword,
+    private void registerEmployee(Button registerButton, String employeeId, String password, String confirmPassword,
                                   String firstName, String lastName, String position, String department) {
         // Validation
         if (employeeId.isEmpty() || password.isEmpty() || firstName.isEmpty() || lastName.isEmpty() ||
@@ -132,12 +137,19 @@ public class EmployeeRegistrationScreen {
         // Create and save employee
         BankEmployee employee = new BankEmployee(employeeId, password, firstName, lastName, position, department);
 
-        if (employeeDAO.createEmployee(employee)) {
-            showAlert("Success", "Employee registered successfully!");
-            navigationController.showLoginScreen();
-        } else {
-            showAlert("Error", "Failed to register employee. Employee ID might already exist.");
-        }
+        registerButton.setDisable(true);
+        tasks.onFx(tasks.write(() -> employeeDAO.createEmployee(employee)), created -> {
+            registerButton.setDisable(false);
+            if (created) {
+                showAlert("Success", "Employee registered successfully!");
+                navigationController.showLoginScreen();
+            } else {
+                showAlert("Error", "Failed to register employee. Employee ID might already exist.");
+            }
+        }, error -> {
+            registerButton.setDisable(false);
+            showAlert("Error", "Failed to register employee: " + error.getMessage());
+        });
     }
 
     private void showAlert(String title, String message) {
@@ -155,34 +167,39 @@ public class EmployeeRegistrationScreen {
         this.navigationController = navigationController;
         this.bankingSystem = bankingSystem;
         this.employeeDAO = new BankEmployeeDAO();
-
-        // ADD THIS DEBUG:
-        debugDatabaseContents();
+        this.tasks = navigationController.getScreenTasks();
+
+        // Lists every employee - only when debugging
+        if (LOG.isDebugEnabled()) {
+            tasks.read(() -> {
+                debugDatabaseContents();
+                return null;
+            });
+        }
         createUI();
     }
 
-    // ADD THIS METHOD:
     private void debugDatabaseContents() {
         try {
-            System.out.println("=== DATABASE DEBUG ===");
+            StringBuilder info = new StringBuilder("Employee registration:");
 
             // Check current database URL
-            Connection conn = DatabaseConnection.getConnection();
-            System.out.println("Database URL: " + conn.getMetaData().getURL());
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                info.append("\nDatabase URL: ").append(conn.getMetaData().getURL());
+            }
 
             // Check employees table
             List<BankEmployee> employees = employeeDAO.getAllEmployees();
-            System.out.println("Employees count: " + employees.size());
+            info.append("\nEmployees count: ").append(employees.size());
 
             for (BankEmployee emp : employees) {
-                System.out.println("FOUND EMPLOYEE: " + emp.getEmployeeId());
+                info.append("\nFound employee: ").append(emp.getEmployeeId());
             }
 
-            conn.close();
-            System.out.println("=== END DEBUG ===");
+            LOG.debug(info::toString);
 
         } catch (Exception e) {
-            System.out.println("Debug error: " + e.getMessage());
+            LOG.error("Debug error: " + e.getMessage());
         }
     }
 
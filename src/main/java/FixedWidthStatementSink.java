@@ -0,0 +1,133 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+// Printable statement: 80-column lines in fixed columns, broken into pages of
+// 60 lines that each repeat the customer heading and carry a page number.
+// Pages are separated by a blank line rather than a form feed so the on-screen
+// preview reads the same as the printout.
+public class FixedWidthStatementSink implements StatementSink {
+
+    private static final int WIDTH = 80;
+    private static final int LINES_PER_PAGE = 60;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String RULE = "-".repeat(WIDTH);
+    private static final String COLUMNS = String.format("%-17s%-12s%13s %13s %s",
+            "Date", "Type", "Amount", "Balance", "Description");
+
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(WIDTH);
+
+    private String heading;
+    private int page;
+    private int linesOnPage = LINES_PER_PAGE;
+
+    public FixedWidthStatementSink(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin(Customer customer, LocalDate startDate, LocalDate endDate, boolean detailed) throws IOException {
+        String period = startDate != null && endDate != null
+                ? startDate.format(DATE_FORMAT) + " to " + endDate.format(DATE_FORMAT)
+                : "All transactions";
+        heading = customer.getCustomerId() + "  " + customer.getDisplayName() + "  " + period;
+    }
+
+    @Override
+    public void beginAccount(Account account, int transactionCount) throws IOException {
+        line.setLength(0);
+        line.append("ACCOUNT ").append(account.getAccountNumber())
+                .append("  ").append(account.getAccountType())
+                .append("  ").append(account.getBranch());
+        writeLine();
+        line.setLength(0);
+        pad(line.append("Balance ").append(account.getFormattedBalance()), 40)
+                .append("Transactions in period ").append(transactionCount);
+        writeLine();
+    }
+
+    @Override
+    public void transaction(Transaction transaction) throws IOException {
+        line.setLength(0);
+        if (transaction.getTimestamp() != null) {
+            TransactionRenderer.appendTimestamp(line, transaction.getTimestamp(), false);
+        }
+        pad(line, 17);
+        appendClipped(transaction.getTransactionType(), 11);
+        pad(line, 29);
+        padLeft(transaction.getAmount(), 13);
+        line.append(' ');
+        padLeft(transaction.getBalanceAfter(), 13);
+        line.append(' ');
+        appendClipped(transaction.getDescription(), WIDTH - line.length());
+        writeLine();
+    }
+
+    @Override
+    public void endAccount(Account account, int transactionCount) throws IOException {
+        line.setLength(0);
+        writeLine();
+    }
+
+    @Override
+    public void end(int accountCount, Money totalBalance, int transactionCount) throws IOException {
+        line.setLength(0);
+        line.append(RULE);
+        writeLine();
+        line.setLength(0);
+        pad(line.append("Accounts ").append(accountCount), 20);
+        pad(line.append("Total balance ").append(totalBalance), 50);
+        line.append("Transactions ").append(transactionCount);
+        writeLine();
+    }
+
+    // Starts a new page first when the current one is full
+    private void writeLine() throws IOException {
+        if (linesOnPage >= LINES_PER_PAGE) {
+            if (page > 0) {
+                out.write('\n');
+            }
+            page++;
+            String pageNumber = "Page " + page;
+            String title = clip(heading, WIDTH - pageNumber.length() - 1);
+            out.write(title + " ".repeat(WIDTH - title.length() - pageNumber.length()) + pageNumber + "\n");
+            out.write(COLUMNS + "\n");
+            out.write(RULE + "\n");
+            linesOnPage = 3;
+        }
+        out.append(line, 0, Math.min(line.length(), WIDTH));
+        out.write('\n');
+        linesOnPage++;
+    }
+
+    private StringBuilder pad(StringBuilder sb, int column) {
+        while (sb.length() < column) {
+            sb.append(' ');
+        }
+        return sb;
+    }
+
+    // Right-aligns the amount by writing it first and inserting the padding before it
+    private void padLeft(Money value, int width) {
+        int start = line.length();
+        Money.appendTo(line, value.getThebe());
+        for (int i = line.length() - start; i < width; i++) {
+            line.insert(start, ' ');
+        }
+    }
+
+    private void appendClipped(String value, int width) {
+        if (value != null && width > 0) {
+            line.append(value, 0, Math.min(value.length(), width));
+        }
+    }
+
+    private static String clip(String value, int width) {
+        if (value == null || width <= 0) {
+            return "";
+        }
+        return value.length() <= width ? value : value.substring(0, width);
+    }
+}
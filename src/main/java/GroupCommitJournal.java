@@ -0,0 +1,252 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Group commit for postings and transactions rows. Callers queue their work
+// and block; a single writer thread runs everything queued so far in one
+// database transaction, so concurrent callers share one commit (and one
+// fsync). A caller only returns once its own work has been committed.
+//
+// PostingService sends each deposit or withdrawal here as one unit (balance
+// update plus row insert); TransactionDAO.recordTransaction sends its row
+// insert. InterestEngine is not covered: a run is already one transaction.
+// If a batch fails, each unit is retried in its own transaction, so one bad
+// posting never fails or half-applies anyone else's.
+public class GroupCommitJournal implements AutoCloseable {
+
+    private static final Log LOG = Log.get("posting.journal");
+
+    // One caller's statements, run on the batch's connection. Must not commit
+    // or roll back; the journal does both for the whole batch.
+    public interface Unit<T> {
+        T apply(Connection conn) throws SQLException;
+    }
+
+    private static class PendingWrite<T> {
+        final Unit<T> unit;
+        final CompletableFuture<T> committed = new CompletableFuture<>();
+        T result;
+
+        PendingWrite(Unit<T> unit) {
+            this.unit = unit;
+        }
+
+        void apply(Connection conn) throws SQLException {
+            result = unit.apply(conn);
+        }
+
+        void complete() {
+            committed.complete(result);
+        }
+    }
+
+    private final BlockingQueue<PendingWrite<?>> queue = new LinkedBlockingQueue<>();
+    private final int maxBatchSize;
+    private final long maxLatencyNanos;
+    private final Thread writer;
+    private volatile boolean running = true;
+    // Set once the writer thread has exited; appends fail straight away after that
+    private volatile boolean writerStopped;
+
+    private long batchesCommitted;
+    private long unitsCommitted;
+
+    public GroupCommitJournal(int maxBatchSize, long maxLatencyMillis) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1: " + maxBatchSize);
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+        this.writer = new Thread(this::runWriter, "transaction-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // Blocks until the row is committed; false if it could not be written
+    public boolean append(Transaction transaction) {
+        try {
+            return submit(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(TransactionDAO.INSERT_SQL)) {
+                    TransactionDAO.bindInsert(pstmt, transaction);
+                    return pstmt.executeUpdate() > 0;
+                }
+            });
+        } catch (SQLException e) {
+            LOG.error("Error recording transaction: " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    // Blocks until the unit is committed and returns its result. Throws if the
+    // unit failed or the journal is not running; the unit's changes are then
+    // not in the database, unless the wait itself was interrupted.
+    public <T> T submit(Unit<T> unit) throws SQLException {
+        PendingWrite<T> write = new PendingWrite<>(unit);
+        synchronized (queue) {
+            if (!running || writerStopped) {
+                throw new SQLException("Group commit journal is not running");
+            }
+            queue.add(write);
+        }
+
+        try {
+            return write.committed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted before the commit was confirmed", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException(cause.getMessage(), cause);
+        }
+    }
+
+    public synchronized long getBatchesCommitted() { return batchesCommitted; }
+    public synchronized long getUnitsCommitted() { return unitsCommitted; }
+
+    // Stops accepting work, lets the writer flush what is queued, then returns
+    @Override
+    public void close() {
+        synchronized (queue) {
+            running = false;
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        List<PendingWrite<?>> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingWrite<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    fillBatch(batch);
+                    writeBatch(batch);
+                } catch (InterruptedException e) {
+                    // Work already taken off the queue still gets written;
+                    // close() decides when the writer stops
+                    if (!batch.isEmpty()) {
+                        writeBatch(batch);
+                    }
+                } catch (Throwable e) {
+                    failAll(batch, e);
+                    if (e instanceof Error) {
+                        throw (Error) e;
+                    }
+                } finally {
+                    // Nothing taken off the queue may be left waiting
+                    failAll(batch, new IllegalStateException("Journal writer did not finish this write"));
+                    batch.clear();
+                }
+            }
+        } finally {
+            // The writer is gone (closed or killed): refuse new work and fail any still queued
+            List<PendingWrite<?>> stranded = new ArrayList<>();
+            synchronized (queue) {
+                writerStopped = true;
+                queue.drainTo(stranded);
+            }
+            failAll(stranded, new IllegalStateException("Journal writer has stopped"));
+            if (running) {
+                LOG.error("Journal writer stopped unexpectedly; postings will fail until group commit is re-enabled");
+            }
+        }
+    }
+
+    // Only affects futures not already completed
+    private static void failAll(List<PendingWrite<?>> writes, Throwable cause) {
+        for (PendingWrite<?> write : writes) {
+            write.committed.completeExceptionally(cause);
+        }
+    }
+
+    // Takes everything already queued, then lingers up to maxLatency for more
+    private void fillBatch(List<PendingWrite<?>> batch) throws InterruptedException {
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        long deadline = System.nanoTime() + maxLatencyNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingWrite<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void writeBatch(List<PendingWrite<?>> batch) {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            inTransaction(conn, batch);
+
+            synchronized (this) {
+                batchesCommitted++;
+                unitsCommitted += batch.size();
+            }
+            for (PendingWrite<?> write : batch) {
+                write.complete();
+            }
+
+        } catch (SQLException | RuntimeException e) {
+            // One bad unit must not fail everyone else's posting
+            if (batch.size() > 1) {
+                writeIndividually(batch);
+            } else {
+                batch.get(0).committed.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void writeIndividually(List<PendingWrite<?>> batch) {
+        for (PendingWrite<?> write : batch) {
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                inTransaction(conn, List.of(write));
+                synchronized (this) {
+                    batchesCommitted++;
+                    unitsCommitted++;
+                }
+                write.complete();
+            } catch (SQLException | RuntimeException e) {
+                write.committed.completeExceptionally(e);
+            }
+        }
+    }
+
+    // Commits every unit or none of them
+    private static void inTransaction(Connection conn, List<PendingWrite<?>> writes) throws SQLException {
+        // Units may read (a rejected debit reads the balance), so take the write lock up front
+        DatabaseConnection.beginImmediate(conn);
+        boolean committed = false;
+        try {
+            for (PendingWrite<?> write : writes) {
+                write.apply(conn);
+            }
+            conn.commit();
+            committed = true;
+        } finally {
+            if (!committed) {
+                conn.rollback();
+            }
+            conn.setAutoCommit(true);
+        }
+    }
+}
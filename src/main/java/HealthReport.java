@@ -0,0 +1,114 @@
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// On-demand database health check, kept off the startup path: row counts from
+// COUNT queries, schema version, the SQLite settings in effect, hot queries
+// whose plan scans a table, and connection pool and cache figures.
+//   java HealthReport
+public class HealthReport {
+
+    private static final Log LOG = Log.get("db.health");
+
+    private static final String COUNTS_SQL =
+            "SELECT (SELECT COUNT(*) FROM customers), (SELECT COUNT(*) FROM employees), " +
+                    "(SELECT COUNT(*) FROM accounts), (SELECT COUNT(*) FROM transactions)";
+
+    private final Map<String, Long> rowCounts;
+    private final int schemaVersion;
+    private final Map<String, String> settings;
+    private final List<String> queryPlanProblems;
+    private final long elapsedMillis;
+
+    private HealthReport(Map<String, Long> rowCounts, int schemaVersion, Map<String, String> settings,
+                         List<String> queryPlanProblems, long elapsedMillis) {
+        this.rowCounts = rowCounts;
+        this.schemaVersion = schemaVersion;
+        this.settings = settings;
+        this.queryPlanProblems = queryPlanProblems;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Null if the database could not be read
+    public static HealthReport collect() {
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            Map<String, Long> rowCounts = new LinkedHashMap<>();
+            try (ResultSet rs = stmt.executeQuery(COUNTS_SQL)) {
+                rs.next();
+                rowCounts.put("customers", rs.getLong(1));
+                rowCounts.put("employees", rs.getLong(2));
+                rowCounts.put("accounts", rs.getLong(3));
+                rowCounts.put("transactions", rs.getLong(4));
+            }
+
+            int schemaVersion;
+            try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+                schemaVersion = rs.next() ? rs.getInt(1) : 0;
+            }
+
+            Map<String, String> settings = DatabaseProfile.readActiveSettings(conn);
+            List<String> problems = new ArrayList<>(DatabaseConnection.checkQueryPlans(conn));
+
+            return new HealthReport(rowCounts, schemaVersion, settings, problems,
+                    (System.nanoTime() - started) / 1_000_000);
+
+        } catch (SQLException e) {
+            LOG.error("Error collecting health report: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public Map<String, Long> getRowCounts() { return rowCounts; }
+    public int getSchemaVersion() { return schemaVersion; }
+    public Map<String, String> getSettings() { return settings; }
+    public List<String> getQueryPlanProblems() { return queryPlanProblems; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    public boolean isHealthy() {
+        return queryPlanProblems.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("=== DATABASE HEALTH ===\n");
+        for (Map.Entry<String, Long> count : rowCounts.entrySet()) {
+            report.append(count.getKey()).append(": ").append(count.getValue()).append('\n');
+        }
+        report.append("Schema version: ").append(schemaVersion).append('\n');
+        report.append("Settings: ").append(settings).append('\n');
+
+        ConnectionPool pool = DatabaseConnection.getPool();
+        report.append("Connection pool: ").append(pool.getOpenedCount()).append(" opened, ")
+                .append(pool.getInUseCount()).append(" in use, ")
+                .append(pool.getIdleCount()).append(" idle of ").append(pool.getMaxSize()).append('\n');
+        report.append("Account cache: ").append(AccountDAO.getCache().getStats()).append('\n');
+        report.append("Customer cache: ").append(CustomerDAO.getCache().getStats()).append('\n');
+
+        if (queryPlanProblems.isEmpty()) {
+            report.append("Query plans: all hot queries use an index\n");
+        } else {
+            for (String problem : queryPlanProblems) {
+                report.append("Query plan: ").append(problem).append('\n');
+            }
+        }
+        report.append("Collected in ").append(elapsedMillis).append("ms");
+        return report.toString();
+    }
+
+    public static void main(String[] args) {
+        HealthReport report = collect();
+        if (report == null) {
+            System.exit(2);
+        }
+        System.out.println(report);
+        System.exit(report.isHealthy() ? 0 : 1);
+    }
+}
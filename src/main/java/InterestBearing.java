@@ -1,5 +1,5 @@
 import java.io.Serializable;
 
 public interface InterestBearing extends Serializable {
-    double calculateInterest();
+    Money calculateInterest();
 }
\ No newline at end of file
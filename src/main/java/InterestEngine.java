@@ -0,0 +1,117 @@
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+// Monthly interest as a single set-based database transaction: one INSERT ... SELECT
+// writes every INTEREST row and one UPDATE credits every balance. Each period is
+// recorded in interest_runs, so running the same month again changes nothing.
+public class InterestEngine {
+
+    public static class RunSummary {
+        private final String period;
+        private final boolean alreadyProcessed;
+        private final int accountsCredited;
+        private final Money totalInterest;
+        private final long elapsedMillis;
+
+        RunSummary(String period, boolean alreadyProcessed, int accountsCredited,
+                   Money totalInterest, long elapsedMillis) {
+            this.period = period;
+            this.alreadyProcessed = alreadyProcessed;
+            this.accountsCredited = accountsCredited;
+            this.totalInterest = totalInterest;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public String getPeriod() { return period; }
+        public boolean isAlreadyProcessed() { return alreadyProcessed; }
+        public int getAccountsCredited() { return accountsCredited; }
+        public Money getTotalInterest() { return totalInterest; }
+        public long getElapsedMillis() { return elapsedMillis; }
+    }
+
+    // Monthly rates in basis points: savings 0.05%, investment 5% (same as the old per-account loop)
+    private static final String RATE_BP =
+            "CASE account_type WHEN 'SAVINGS' THEN 5 WHEN 'INVESTMENT' THEN 500 ELSE 0 END";
+    // Balances are whole thebe, so this is integer arithmetic rounding half up
+    // (same as Money.multiplyBasisPoints with HALF_UP) for the positive balances it is applied to
+    private static final String INTEREST =
+            "((balance * " + RATE_BP + " + " + (Money.BASIS_POINTS / 2) + ") / " + Money.BASIS_POINTS + ")";
+    private static final String ELIGIBLE =
+            " FROM accounts WHERE account_type IN ('SAVINGS', 'INVESTMENT') AND " + INTEREST + " > 0";
+
+    public RunSummary processMonthlyInterest() throws SQLException {
+        return processMonthlyInterest(YearMonth.now());
+    }
+
+    public RunSummary processMonthlyInterest(YearMonth period) throws SQLException {
+        long start = System.currentTimeMillis();
+        String periodKey = period.toString();
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            // The eligibility totals are read before the first write
+            DatabaseConnection.beginImmediate(conn);
+            try {
+                RunSummary previous = findRun(conn, periodKey);
+                if (previous != null) {
+                    conn.rollback();
+                    return previous;
+                }
+
+                int accounts;
+                long total;
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT COUNT(*), COALESCE(SUM(" + INTEREST + "), 0)" + ELIGIBLE)) {
+                    rs.next();
+                    accounts = rs.getInt(1);
+                    total = rs.getLong(2);
+                }
+
+                // Claims the period first; the primary key stops a second run
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "INSERT INTO interest_runs (period, accounts_credited, total_interest) VALUES (?, ?, ?)")) {
+                    pstmt.setString(1, periodKey);
+                    pstmt.setInt(2, accounts);
+                    pstmt.setLong(3, total);
+                    pstmt.executeUpdate();
+                }
+
+                // Transactions first, while balances still hold the pre-interest value
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "INSERT INTO transactions (account_number, transaction_type, amount, balance_after, description, transaction_date) " +
+                                "SELECT account_number, 'INTEREST', " + INTEREST + ", balance + " + INTEREST + ", ?, ?" + ELIGIBLE)) {
+                    pstmt.setString(1, "Monthly interest payment " + periodKey);
+                    pstmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                    pstmt.executeUpdate();
+                }
+
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("UPDATE accounts SET balance = balance + " + INTEREST +
+                            " WHERE account_type IN ('SAVINGS', 'INVESTMENT') AND " + INTEREST + " > 0");
+                }
+
+                conn.commit();
+                // One UPDATE touched every eligible balance, so start the cache afresh
+                AccountDAO.getCache().invalidateAll();
+                return new RunSummary(periodKey, false, accounts, Money.ofThebe(total), System.currentTimeMillis() - start);
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private RunSummary findRun(Connection conn, String periodKey) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT accounts_credited, total_interest FROM interest_runs WHERE period = ?")) {
+            pstmt.setString(1, periodKey);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return new RunSummary(periodKey, true, rs.getInt(1), Money.ofThebe(rs.getLong(2)), 0);
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -1,9 +1,10 @@
 import java.io.Serializable;
+import java.math.RoundingMode;
 
 public class InvestmentAccount extends Account implements InterestBearing, Serializable {
     private static final long serialVersionUID = 1L;
 
-    public InvestmentAccount(String accountNumber, double balance, String branch) {
+    public InvestmentAccount(String accountNumber, Money balance, String branch) {
         super(accountNumber, balance, branch);
     }
 
@@ -13,7 +14,7 @@ public class InvestmentAccount extends Account implements InterestBearing, Seria
     }
 
     @Override
-    public double calculateInterest() {
-        return balance * 0.05; // 5% annual interest
+    public Money calculateInterest() {
+        return balance.multiplyBasisPoints(500, RoundingMode.HALF_UP); // 5% annual interest
     }
 }
\ No newline at end of file
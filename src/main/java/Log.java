@@ -0,0 +1,252 @@
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Levelled application logging. Each subsystem ("dao.account", "posting", ...)
+// gets its own level, read from
+//   -Dbanking.log.level=INFO                 default for everything
+//   -Dbanking.log.level.dao=DEBUG            a subsystem and everything under it
+//   -Dbanking.log.level.dao.account=WARN     the most specific setting wins
+// and from setLevel at runtime, which follows the same rules.
+// Records are queued and written to stdout by one background thread, so the
+// caller never waits on the console. A disabled level costs one comparison;
+// debug messages are passed as suppliers so they are only built when enabled.
+public final class Log {
+
+    public enum Level { DEBUG, INFO, WARN, ERROR, OFF }
+
+    private static final String PROPERTY = "banking.log.level";
+    private static final Map<String, Log> LOGGERS = new ConcurrentHashMap<>();
+    // Levels set through setLevel; checked before the system properties
+    private static final Map<String, Level> OVERRIDES = new ConcurrentHashMap<>();
+    private static final Appender APPENDER = new Appender(8_192);
+
+    private final String subsystem;
+    private volatile Level level;
+
+    private Log(String subsystem, Level level) {
+        this.subsystem = subsystem;
+        this.level = level;
+    }
+
+    public static Log get(String subsystem) {
+        Log log = LOGGERS.get(subsystem);
+        if (log != null) {
+            return log;
+        }
+        // Locked so a logger created during setLevel cannot miss the new level
+        synchronized (LOGGERS) {
+            return LOGGERS.computeIfAbsent(subsystem, name -> new Log(name, configuredLevel(name)));
+        }
+    }
+
+    // Changes a subsystem's level at runtime, e.g. to turn on debug while
+    // diagnosing. Applies to the subsystem and everything under it, except
+    // where a more specific subsystem has its own setting.
+    public static void setLevel(String subsystem, Level level) {
+        synchronized (LOGGERS) {
+            OVERRIDES.put(subsystem, level);
+            for (Log log : LOGGERS.values()) {
+                if (log.subsystem.equals(subsystem) || log.subsystem.startsWith(subsystem + ".")) {
+                    log.level = configuredLevel(log.subsystem);
+                }
+            }
+        }
+    }
+
+    public boolean isDebugEnabled() {
+        return level == Level.DEBUG;
+    }
+
+    public boolean isEnabled(Level messageLevel) {
+        return messageLevel != Level.OFF && messageLevel.compareTo(level) >= 0;
+    }
+
+    public void debug(Supplier<String> message) {
+        if (level == Level.DEBUG) {
+            APPENDER.enqueue(new Record(Level.DEBUG, subsystem, message.get(), null));
+        }
+    }
+
+    public void info(String message) {
+        log(Level.INFO, message, null);
+    }
+
+    public void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            APPENDER.enqueue(new Record(Level.INFO, subsystem, message.get(), null));
+        }
+    }
+
+    public void warn(String message) {
+        log(Level.WARN, message, null);
+    }
+
+    public void error(String message) {
+        log(Level.ERROR, message, null);
+    }
+
+    public void error(String message, Throwable error) {
+        log(Level.ERROR, message, error);
+    }
+
+    private void log(Level messageLevel, String message, Throwable error) {
+        if (isEnabled(messageLevel)) {
+            APPENDER.enqueue(new Record(messageLevel, subsystem, message, error));
+        }
+    }
+
+    private static Level configuredLevel(String subsystem) {
+        // Walk from "dao.account" up to "dao", then the global default
+        String name = subsystem;
+        while (!name.isEmpty()) {
+            Level override = OVERRIDES.get(name);
+            if (override != null) {
+                return override;
+            }
+            String value = System.getProperty(PROPERTY + "." + name);
+            if (value != null) {
+                return parseLevel(PROPERTY + "." + name, value);
+            }
+            int dot = name.lastIndexOf('.');
+            name = dot < 0 ? "" : name.substring(0, dot);
+        }
+        return parseLevel(PROPERTY, System.getProperty(PROPERTY, Level.INFO.name()));
+    }
+
+    private static Level parseLevel(String property, String value) {
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + property + " '" + value +
+                    "', expected DEBUG, INFO, WARN, ERROR or OFF");
+        }
+    }
+
+    private static class Record {
+        final long timeMillis = System.currentTimeMillis();
+        final Level level;
+        final String subsystem;
+        final String message;
+        final Throwable error;
+
+        Record(Level level, String subsystem, String message, Throwable error) {
+            this.level = level;
+            this.subsystem = subsystem;
+            this.message = message;
+            this.error = error;
+        }
+    }
+
+    // Single consumer that formats queued records and prints them a batch at a
+    // time. When the queue is full, DEBUG and INFO records are dropped (and
+    // counted) rather than making the caller wait; WARN and ERROR always wait
+    // for room.
+    private static class Appender {
+
+        private static final DateTimeFormatter TIME_FORMAT =
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+        private final BlockingQueue<Record> queue;
+        private final AtomicLong dropped = new AtomicLong();
+        private final StringBuilder buffer = new StringBuilder(4_096);
+        private final Thread writer;
+        private volatile boolean closing;
+
+        Appender(int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.writer = new Thread(this::run, "log-writer");
+            writer.setDaemon(true);
+            writer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::close, "log-flush"));
+        }
+
+        void enqueue(Record record) {
+            if (queue.offer(record)) {
+                return;
+            }
+            if (record.level.compareTo(Level.WARN) < 0) {
+                dropped.incrementAndGet();
+                return;
+            }
+            try {
+                queue.put(record);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void run() {
+            while (!closing) {
+                try {
+                    Record first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first != null) {
+                        write(first);
+                        drain();
+                    }
+                } catch (InterruptedException e) {
+                    // Only close() interrupts; the loop condition ends the thread
+                } catch (RuntimeException e) {
+                    System.err.println("Logging failed: " + e);
+                }
+            }
+        }
+
+        // Shutdown hook. The writer may have polled a record it has not
+        // written yet, so it is stopped and waited for before the final drain
+        // prints whatever is still queued.
+        private void close() {
+            closing = true;
+            writer.interrupt();
+            try {
+                writer.join(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            drain();
+        }
+
+        private synchronized void drain() {
+            List<Record> batch = new ArrayList<>();
+            queue.drainTo(batch);
+            for (Record record : batch) {
+                write(record);
+            }
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                buffer.append(lost).append(" log record(s) dropped, queue full\n");
+            }
+            if (buffer.length() > 0) {
+                System.out.print(buffer);
+                System.out.flush();
+                buffer.setLength(0);
+            }
+        }
+
+        private synchronized void write(Record record) {
+            TIME_FORMAT.formatTo(Instant.ofEpochMilli(record.timeMillis), buffer);
+            buffer.append(' ').append(record.level);
+            for (int i = record.level.name().length(); i < 6; i++) {
+                buffer.append(' ');
+            }
+            buffer.append('[').append(record.subsystem).append("] ").append(record.message).append('\n');
+            if (record.error != null) {
+                StringWriter trace = new StringWriter();
+                record.error.printStackTrace(new PrintWriter(trace));
+                buffer.append(trace);
+            }
+        }
+    }
+}
@@ -11,72 +11,79 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public class LoginScreen {
+
+    private static final Log LOG = Log.get("ui.login");
+
     private Scene scene;
     private NavigationController navigationController;
     private BankingSystem bankingSystem;
     private CustomerDAO customerDAO;
     private BankEmployeeDAO employeeDAO;
+    private ScreenTasks tasks;
 
     public LoginScreen(NavigationController navigationController, BankingSystem bankingSystem) {
         this.navigationController = navigationController;
         this.bankingSystem = bankingSystem;
         this.customerDAO = new CustomerDAO();
         this.employeeDAO = new BankEmployeeDAO();
-
-        // ADD DEBUG HERE - at the start of constructor
-        checkDatabaseState();
+        this.tasks = navigationController.getScreenTasks();
+
+        // Lists every customer and employee id - only when debugging
+        if (LOG.isDebugEnabled()) {
+            tasks.read(() -> {
+                checkDatabaseState();
+                return null;
+            });
+        }
 
         createUI();
     }
 
     // FIXED: Debug method - uses customer_id instead of username
     private void checkDatabaseState() {
-        System.out.println("=== DATABASE STATE CHECK ===");
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            Statement stmt = conn.createStatement();
+        StringBuilder state = new StringBuilder("Database state check:");
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
 
             // Check customers
             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) as count FROM customers");
             rs.next();
-            System.out.println("Customers in database: " + rs.getInt("count"));
+            state.append("\nCustomers in database: ").append(rs.getInt("count"));
 
             // Check employees
             rs = stmt.executeQuery("SELECT COUNT(*) as count FROM employees");
             rs.next();
-            System.out.println("Employees in database: " + rs.getInt("count"));
+            state.append("\nEmployees in database: ").append(rs.getInt("count"));
 
             // FIXED: Use customer_id instead of username
             rs = stmt.executeQuery("SELECT customer_id FROM customers");
-            System.out.println("Customer IDs:");
+            state.append("\nCustomer IDs:");
             boolean hasCustomers = false;
             while (rs.next()) {
                 hasCustomers = true;
-                System.out.println("  - " + rs.getString("customer_id"));
+                state.append("\n  - ").append(rs.getString("customer_id"));
             }
             if (!hasCustomers) {
-                System.out.println("  (none)");
+                state.append("\n  (none)");
             }
 
             // List employee IDs if any exist
             rs = stmt.executeQuery("SELECT employee_id FROM employees");
-            System.out.println("Employee IDs:");
+            state.append("\nEmployee IDs:");
             boolean hasEmployees = false;
             while (rs.next()) {
                 hasEmployees = true;
-                System.out.println("  - " + rs.getString("employee_id"));
+                state.append("\n  - ").append(rs.getString("employee_id"));
             }
             if (!hasEmployees) {
-                System.out.println("  (none)");
+                state.append("\n  (none)");
             }
 
-            stmt.close();
-            conn.close();
-
         } catch (SQLException e) {
-            System.out.println("Debug error: " + e.getMessage());
+            LOG.error("Debug error: " + e.getMessage());
+            return;
         }
-        System.out.println("=== END CHECK ===");
+        LOG.debug(state::toString);
     }
 
     private void createUI() {
@@ -190,10 +197,14 @@ public class LoginScreen {
             return;
         }
 
-        try {
-            if (userType.equals("customer")) {
-                // Use BankingSystem's customerLogin method which handles setting current customer
-                if (bankingSystem.customerLogin(username, password)) {
+        // The credential check reads the database, so it runs off the FX thread;
+        // BankingSystem records who is logged in before the callback runs
+        boolean customer = userType.equals("customer");
+        tasks.load(() -> customer
+                ? bankingSystem.customerLogin(username, password)
+                : bankingSystem.employeeLogin(username, password), loggedIn -> {
+            if (customer) {
+                if (loggedIn) {
                     Customer currentCustomer = bankingSystem.getCurrentCustomer();
                     showAlert(Alert.AlertType.INFORMATION, "Login Successful",
                             "Welcome back, " + currentCustomer.getDisplayName() + "!");
@@ -202,8 +213,7 @@ public class LoginScreen {
                     showAlert(Alert.AlertType.ERROR, "Login Failed", "Invalid customer credentials.");
                 }
             } else {
-                // Use BankingSystem's employeeLogin method which handles setting current employee
-                if (bankingSystem.employeeLogin(username, password)) {
+                if (loggedIn) {
                     BankEmployee currentEmployee = bankingSystem.getCurrentEmployee();
                     showAlert(Alert.AlertType.INFORMATION, "Login Successful",
                             "Welcome, " + currentEmployee.getFirstName() + " " + currentEmployee.getLastName() + "!");
@@ -212,10 +222,10 @@ public class LoginScreen {
                     showAlert(Alert.AlertType.ERROR, "Login Failed", "Invalid employee credentials.");
                 }
             }
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Login Failed", "System error during login: " + e.getMessage());
-            e.printStackTrace();
-        }
+        }, error -> {
+            showAlert(Alert.AlertType.ERROR, "Login Failed", "System error during login: " + error.getMessage());
+            LOG.error("System error during login: " + error.getMessage(), error);
+        });
     }
 
     private void showAlert(Alert.AlertType type, String title, String message) {
@@ -1,18 +1,50 @@
 import javafx.application.Application;
 import javafx.stage.Stage;
 
+import java.lang.management.ManagementFactory;
+
 
 public class Main extends Application {
 
+    private static final Log LOG = Log.get("app.startup");
+
+    // Startup only checks the schema and opens connections; database
+    // diagnostics live in HealthReport. Each phase is timed and logged.
     @Override
     public void start(Stage primaryStage) {
+        long launch = ManagementFactory.getRuntimeMXBean().getUptime();
+        long started = System.nanoTime();
+
+        // Loading DatabaseConnection opens the file and brings the schema up to date
+        DatabaseConnection.getPool();
+        long schemaDone = System.nanoTime();
+
+        DatabaseConnection.warmUp();
+        long warmUpDone = System.nanoTime();
+
         BankingSystem bankingSystem = new BankingSystem();
+        long servicesDone = System.nanoTime();
 
         // Create NavigationController and start with Main Menu
         NavigationController navigationController = new NavigationController(primaryStage, bankingSystem);
         navigationController.showMainMenu();
 
         primaryStage.show();
+        long shown = System.nanoTime();
+
+        LOG.info("Started in " + (launch + millis(started, shown)) + "ms: JVM and JavaFX " + launch +
+                "ms, schema " + millis(started, schemaDone) + "ms, connections " + millis(schemaDone, warmUpDone) +
+                "ms, services " + millis(warmUpDone, servicesDone) + "ms, main menu " + millis(servicesDone, shown) + "ms");
+    }
+
+    private static long millis(long from, long to) {
+        return (to - from) / 1_000_000;
+    }
+
+    // Lets a posting that is still on the writer thread commit before the JVM exits
+    @Override
+    public void stop() {
+        DatabaseExecutor.shutdown();
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,219 @@
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Immutable amount in Pula, held as a whole number of thebe (1/100 Pula) so
+// sums and comparisons are exact. This is what the database stores as well.
+// The static long methods let hot loops work on raw thebe without allocating.
+public final class Money implements Comparable<Money>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final long THEBE_PER_PULA = 100;
+    // Rates are given in basis points: 1 bp = 0.01%
+    public static final long BASIS_POINTS = 10_000;
+
+    public static final Money ZERO = new Money(0);
+
+    private final long thebe;
+
+    private Money(long thebe) {
+        this.thebe = thebe;
+    }
+
+    public static Money ofThebe(long thebe) {
+        return thebe == 0 ? ZERO : new Money(thebe);
+    }
+
+    public static Money ofPula(long pula) {
+        return ofThebe(Math.multiplyExact(pula, THEBE_PER_PULA));
+    }
+
+    // Exact parse of user input such as "150", "150.5" or "P150.50";
+    // more than two decimal places is rejected rather than rounded
+    public static Money parse(String text) {
+        return parse(text, RoundingMode.UNNECESSARY);
+    }
+
+    public static Money parse(String text, RoundingMode mode) {
+        if (text == null) {
+            throw new NumberFormatException("Amount is empty");
+        }
+        String trimmed = text.trim();
+        if (trimmed.startsWith("P") || trimmed.startsWith("p")) {
+            trimmed = trimmed.substring(1).trim();
+        }
+        if (trimmed.isEmpty()) {
+            throw new NumberFormatException("Amount is empty");
+        }
+        try {
+            return ofThebe(new BigDecimal(trimmed).movePointRight(2).setScale(0, mode).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount must have at most 2 decimal places: " + text);
+        }
+    }
+
+    // Only for bridging old double values; never do arithmetic in double
+    public static Money fromDouble(double pula, RoundingMode mode) {
+        return ofThebe(BigDecimal.valueOf(pula).movePointRight(2).setScale(0, mode).longValueExact());
+    }
+
+    public long getThebe() { return thebe; }
+
+    public boolean isZero() { return thebe == 0; }
+    public boolean isPositive() { return thebe > 0; }
+    public boolean isNegative() { return thebe < 0; }
+
+    public Money plus(Money other) {
+        return ofThebe(add(thebe, other.thebe));
+    }
+
+    public Money minus(Money other) {
+        return ofThebe(subtract(thebe, other.thebe));
+    }
+
+    public Money negate() {
+        return ofThebe(Math.negateExact(thebe));
+    }
+
+    public Money times(long factor) {
+        return ofThebe(Math.multiplyExact(thebe, factor));
+    }
+
+    public Money multiplyBasisPoints(long basisPoints, RoundingMode mode) {
+        return ofThebe(multiplyBasisPoints(thebe, basisPoints, mode));
+    }
+
+    public boolean isLessThan(Money other) { return thebe < other.thebe; }
+    public boolean isGreaterThan(Money other) { return thebe > other.thebe; }
+
+    // --- allocation-free arithmetic on raw thebe ---
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    public static long multiplyBasisPoints(long thebe, long basisPoints, RoundingMode mode) {
+        return divide(Math.multiplyExact(thebe, basisPoints), BASIS_POINTS, mode);
+    }
+
+    // Integer division with an explicit rounding mode, same rules as BigDecimal
+    public static long divide(long dividend, long divisor, RoundingMode mode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        // Direction of the true result away from the truncated quotient
+        int sign = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        long twiceRemainder = Math.abs(remainder) * 2;
+        long absDivisor = Math.abs(divisor);
+        boolean roundAway;
+        switch (mode) {
+            case UP:
+                roundAway = true;
+                break;
+            case DOWN:
+                roundAway = false;
+                break;
+            case CEILING:
+                roundAway = sign > 0;
+                break;
+            case FLOOR:
+                roundAway = sign < 0;
+                break;
+            case HALF_UP:
+                roundAway = twiceRemainder >= absDivisor;
+                break;
+            case HALF_DOWN:
+                roundAway = twiceRemainder > absDivisor;
+                break;
+            case HALF_EVEN:
+                roundAway = twiceRemainder > absDivisor
+                        || (twiceRemainder == absDivisor && (quotient & 1) != 0);
+                break;
+            default:
+                throw new ArithmeticException("Rounding necessary: " + dividend + " / " + divisor);
+        }
+        return roundAway ? quotient + sign : quotient;
+    }
+
+    // --- formatting ---
+
+    // "P1234.50", matching the old String.format("P%.2f") output
+    public static String format(long thebe) {
+        return appendTo(new StringBuilder(16), thebe).toString();
+    }
+
+    public static StringBuilder appendTo(StringBuilder out, long thebe) {
+        try {
+            appendTo((Appendable) out, thebe);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    public static <A extends Appendable> A appendTo(A out, long thebe) throws IOException {
+        out.append('P');
+        appendPlain(out, thebe);
+        return out;
+    }
+
+    // "1234.50" without the currency sign, for CSV and other machine-read output
+    public static <A extends Appendable> A appendPlain(A out, long thebe) throws IOException {
+        if (thebe < 0) {
+            out.append('-');
+        }
+        // Long.MIN_VALUE has no positive counterpart, so split before negating
+        long pula = Math.abs(thebe / THEBE_PER_PULA);
+        int cents = (int) Math.abs(thebe % THEBE_PER_PULA);
+        appendLong(out, pula);
+        out.append('.');
+        out.append((char) ('0' + cents / 10));
+        out.append((char) ('0' + cents % 10));
+        return out;
+    }
+
+    private static void appendLong(Appendable out, long value) throws IOException {
+        if (value >= 10) {
+            appendLong(out, value / 10);
+        }
+        out.append((char) ('0' + (value % 10)));
+    }
+
+    public String toPlainString() {
+        try {
+            return appendPlain(new StringBuilder(16), thebe).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return format(thebe);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(thebe, other.thebe);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).thebe == thebe;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(thebe);
+    }
+}
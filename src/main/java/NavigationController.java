@@ -4,37 +4,54 @@ import javafx.stage.Stage;
 public class NavigationController {
     private Stage primaryStage;
     private BankingSystem bankingSystem;
+    private ScreenTasks screenTasks = new ScreenTasks();
 
     public NavigationController(Stage primaryStage, BankingSystem bankingSystem) {
         this.primaryStage = primaryStage;
         this.bankingSystem = bankingSystem;
     }
 
+    // Background work for the screen currently shown; screens call this while building
+    public ScreenTasks getScreenTasks() {
+        return screenTasks;
+    }
+
+    // Drops whatever the previous screen still had queued or in flight
+    private void beginScreen() {
+        screenTasks.cancel();
+        screenTasks = new ScreenTasks();
+    }
+
     public void showLoginScreen() {
+        beginScreen();
         LoginScreen loginScreen = new LoginScreen(this, bankingSystem);
         primaryStage.setScene(loginScreen.getScene());
         primaryStage.setTitle("Banking System - Login");
     }
 
     public void showMainMenu() {
+        beginScreen();
         MainMenuScreen mainMenu = new MainMenuScreen(this, bankingSystem);
         primaryStage.setScene(mainMenu.getScene());
         primaryStage.setTitle("Banking System - Main Menu");
     }
 
     public void showCustomerDashboard() {
+        beginScreen();
         CustomerDashboardScreen customerDashboard = new CustomerDashboardScreen(this, bankingSystem);
         primaryStage.setScene(customerDashboard.getScene());
         primaryStage.setTitle("Banking System - Customer Dashboard");
     }
 
     public void showEmployeeDashboard() {
+        beginScreen();
         EmployeeDashboardScreen employeeDashboard = new EmployeeDashboardScreen(this, bankingSystem);
         primaryStage.setScene(employeeDashboard.getScene());
         primaryStage.setTitle("Banking System - Employee Dashboard");
     }
 
     public void showCustomerRegistration() {
+        beginScreen();
         CustomerRegistrationScreen registrationScreen = new CustomerRegistrationScreen(this, bankingSystem);
         primaryStage.setScene(registrationScreen.getScene());
         primaryStage.setTitle("Banking System - Register Customer");
@@ -42,6 +59,7 @@ public class NavigationController {
 
     // ADDED: Employee registration method without parameters
     public void showEmployeeRegistration() {
+        beginScreen();
         EmployeeRegistrationScreen registrationScreen = new EmployeeRegistrationScreen(this, bankingSystem);
         primaryStage.setScene(registrationScreen.getScene());
         primaryStage.setTitle("Banking System - Register Employee");
@@ -54,30 +72,35 @@ public class NavigationController {
     }
 
     public void showAccountCreation() {
+        beginScreen();
         AccountCreationScreen accountScreen = new AccountCreationScreen(this, bankingSystem);
         primaryStage.setScene(accountScreen.getScene());
         primaryStage.setTitle("Banking System - Create Account");
     }
 
     public void showTransactionScreen(String type) {
+        beginScreen();
         TransactionScreen transactionScreen = new TransactionScreen(this, bankingSystem, type);
         primaryStage.setScene(transactionScreen.getScene());
         primaryStage.setTitle("Banking System - " + type);
     }
 
     public void showAccountManagement() {
+        beginScreen();
         AccountManagementScreen accountManagement = new AccountManagementScreen(this, bankingSystem);
         primaryStage.setScene(accountManagement.getScene());
         primaryStage.setTitle("Banking System - Account Management");
     }
 
     public void showCustomerList() {
+        beginScreen();
         CustomerListScreen customerList = new CustomerListScreen(this, bankingSystem);
         primaryStage.setScene(customerList.getScene());
         primaryStage.setTitle("Banking System - Customer List");
     }
 
     public void showStatementScreen() {
+        beginScreen();
         StatementScreen statementScreen = new StatementScreen(this, bankingSystem);
         primaryStage.setScene(statementScreen.getScene());
         primaryStage.setTitle("Banking System - Generate Statement");
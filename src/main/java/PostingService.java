@@ -0,0 +1,151 @@
+import java.sql.*;
+import java.time.LocalDateTime;
+
+// Applies a deposit or withdrawal and writes its transactions row in one
+// database transaction. The balance is changed in SQL (balance = balance +/- ?)
+// so concurrent tellers never overwrite each other's postings. Amounts are
+// bound as whole thebe, so the column never holds a rounded binary fraction.
+// With group commit on (-Dbanking.db.groupCommit=true) each posting is one
+// unit in the journal's next batch, so concurrent postings share a commit.
+public class PostingService {
+
+    private static final Log LOG = Log.get("posting");
+
+    public enum Status {
+        POSTED,
+        ACCOUNT_NOT_FOUND,
+        INSUFFICIENT_FUNDS,
+        INVALID_AMOUNT,
+        FAILED
+    }
+
+    public static class PostingResult {
+        private final Status status;
+        private final Money balance;
+        private final String message;
+
+        PostingResult(Status status, Money balance, String message) {
+            this.status = status;
+            this.balance = balance;
+            this.message = message;
+        }
+
+        public boolean isPosted() { return status == Status.POSTED; }
+        public Status getStatus() { return status; }
+        // Balance after the posting, or the unchanged balance when funds were insufficient
+        public Money getBalance() { return balance; }
+        public String getMessage() { return message; }
+    }
+
+    private static final String CREDIT_SQL =
+            "UPDATE accounts SET balance = balance + ? WHERE account_number = ? RETURNING balance";
+
+    // Overdraft guard lives in the WHERE clause, so the check and the debit are one step
+    private static final String DEBIT_SQL =
+            "UPDATE accounts SET balance = balance - ? WHERE account_number = ? AND balance >= ? RETURNING balance";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (account_number, transaction_type, amount, balance_after, description, transaction_date) VALUES (?, ?, ?, ?, ?, ?)";
+
+    public PostingResult deposit(String accountNumber, Money amount, String description) {
+        return post(accountNumber, "DEPOSIT", amount, description);
+    }
+
+    public PostingResult withdraw(String accountNumber, Money amount, String description) {
+        return post(accountNumber, "WITHDRAWAL", amount, description);
+    }
+
+    private PostingResult post(String accountNumber, String transactionType, Money amount, String description) {
+        if (amount == null || !amount.isPositive()) {
+            return new PostingResult(Status.INVALID_AMOUNT, Money.ZERO, "Amount must be greater than 0");
+        }
+        boolean debit = "WITHDRAWAL".equals(transactionType);
+
+        PostingResult result;
+        try {
+            GroupCommitJournal journal = TransactionDAO.getJournal();
+            if (journal != null) {
+                result = journal.submit(conn -> apply(conn, accountNumber, transactionType, amount, description, debit));
+            } else {
+                result = postAlone(accountNumber, transactionType, amount, description, debit);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error posting " + transactionType + " to " + accountNumber + ": " + e.getMessage());
+            return new PostingResult(Status.FAILED, Money.ZERO, e.getMessage());
+        }
+
+        if (result.isPosted()) {
+            AccountDAO.getCache().invalidate(accountNumber);
+        }
+        return result;
+    }
+
+    // One posting in its own database transaction
+    private PostingResult postAlone(String accountNumber, String transactionType, Money amount, String description,
+                                    boolean debit) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                PostingResult result = apply(conn, accountNumber, transactionType, amount, description, debit);
+                if (result.isPosted()) {
+                    conn.commit();
+                } else {
+                    conn.rollback();
+                }
+                return result;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // Balance update and transactions row on the caller's connection; the
+    // caller commits. A rejected posting has changed nothing.
+    private PostingResult apply(Connection conn, String accountNumber, String transactionType, Money amount,
+                                String description, boolean debit) throws SQLException {
+        Long newBalance = applyDelta(conn, accountNumber, amount, debit);
+        if (newBalance == null) {
+            return explainRejection(conn, accountNumber);
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+            pstmt.setString(1, accountNumber);
+            pstmt.setString(2, transactionType);
+            pstmt.setLong(3, amount.getThebe());
+            pstmt.setLong(4, newBalance);
+            pstmt.setString(5, description);
+            pstmt.setTimestamp(6, Timestamp.valueOf(LocalDateTime.now()));
+            pstmt.executeUpdate();
+        }
+        return new PostingResult(Status.POSTED, Money.ofThebe(newBalance), transactionType + " posted");
+    }
+
+    // Returns the new balance, or null when no row was updated
+    private Long applyDelta(Connection conn, String accountNumber, Money amount, boolean debit) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(debit ? DEBIT_SQL : CREDIT_SQL)) {
+            pstmt.setLong(1, amount.getThebe());
+            pstmt.setString(2, accountNumber);
+            if (debit) {
+                pstmt.setLong(3, amount.getThebe());
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    // Only runs on the failure path, to tell a missing account from an overdraft
+    private PostingResult explainRejection(Connection conn, String accountNumber) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT balance FROM accounts WHERE account_number = ?")) {
+            pstmt.setString(1, accountNumber);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return new PostingResult(Status.INSUFFICIENT_FUNDS, Money.ofThebe(rs.getLong(1)), "Insufficient funds");
+                }
+            }
+        }
+        return new PostingResult(Status.ACCOUNT_NOT_FOUND, Money.ZERO, "Account not found: " + accountNumber);
+    }
+}
@@ -1,9 +1,10 @@
 import java.io.Serializable;
+import java.math.RoundingMode;
 
 public class SavingsAccount extends Account implements InterestBearing, Serializable {
     private static final long serialVersionUID = 1L;
 
-    public SavingsAccount(String accountNumber, double balance, String branch) {
+    public SavingsAccount(String accountNumber, Money balance, String branch) {
         super(accountNumber, balance, branch);
     }
 
@@ -13,7 +14,7 @@ public class SavingsAccount extends Account implements InterestBearing, Serializ
     }
 
     @Override
-    public double calculateInterest() {
-        return balance * 0.02; // 2% annual interest
+    public Money calculateInterest() {
+        return balance.multiplyBasisPoints(200, RoundingMode.HALF_UP); // 2% annual interest
     }
 }
\ No newline at end of file
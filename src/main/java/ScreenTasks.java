@@ -0,0 +1,73 @@
+import javafx.application.Platform;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Database work started by one screen. NavigationController cancels it when
+// the user leaves the screen: queued reads are skipped and no callback runs
+// against the old screen's controls. Writes that already started still
+// commit - only their UI callback is dropped.
+public class ScreenTasks {
+
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    public <T> CompletableFuture<T> read(Callable<T> query) {
+        return track(DatabaseExecutor.read(() -> {
+            if (cancelled) {
+                throw new CancellationException("Screen closed");
+            }
+            return query.call();
+        }));
+    }
+
+    public <T> CompletableFuture<T> write(Callable<T> update) {
+        return track(DatabaseExecutor.write(update));
+    }
+
+    // Runs onSuccess or onError on the FX thread, unless the screen was closed first
+    public <T> void onFx(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            if (cancelled) {
+                return;
+            }
+            if (error == null) {
+                onSuccess.accept(result);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (!(cause instanceof CancellationException)) {
+                onError.accept(cause);
+            }
+        }));
+    }
+
+    // Shorthand for the common case: read off the FX thread, show the result on it
+    public <T> void load(Callable<T> query, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        onFx(read(query), onSuccess, onError);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        for (CompletableFuture<?> future : pending) {
+            future.cancel(false);
+        }
+        pending.clear();
+    }
+
+    private <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        pending.add(future);
+        future.whenComplete((result, error) -> pending.remove(future));
+        return future;
+    }
+}
@@ -0,0 +1,529 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Headless month-end statements: one file per customer for a period, for all
+// customers or one customer type.
+//
+// Customers are split by id into partitions of a few hundred and the
+// partitions are shared out to a fixed pool of workers. A worker reads its
+// partition's customers, accounts and transaction counts with one range query
+// each, then streams every transaction of the partition from a single query
+// ordered by customer and account. Each statement is laid out by
+// StatementGenerator.write, the same code that builds on-screen statements.
+//
+// Statements are written to a .part file and renamed when complete, and each
+// finished partition is appended to batch.checkpoint in the output directory.
+// Running the job again with the same settings skips finished partitions and
+// any statement file that already exists, so an interrupted run resumes.
+//
+//   java StatementBatchJob [--month 2026-09 | --from 2026-09-01 --to 2026-09-30]
+//       [--out dir] [--format text|csv|fixed] [--type INDIVIDUAL|COMPANY]
+//       [--workers n] [--partition-size n] [--summary]
+public class StatementBatchJob {
+
+    public static class Report {
+        private final int statementsWritten;
+        private final int statementsSkipped;
+        private final long transactions;
+        private final int partitionsFailed;
+        private final long elapsedMillis;
+
+        Report(int statementsWritten, int statementsSkipped, long transactions,
+               int partitionsFailed, long elapsedMillis) {
+            this.statementsWritten = statementsWritten;
+            this.statementsSkipped = statementsSkipped;
+            this.transactions = transactions;
+            this.partitionsFailed = partitionsFailed;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getStatementsWritten() { return statementsWritten; }
+        public int getStatementsSkipped() { return statementsSkipped; }
+        public long getTransactions() { return transactions; }
+        public int getPartitionsFailed() { return partitionsFailed; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public double getStatementsPerSecond() {
+            return elapsedMillis == 0 ? 0 : statementsWritten * 1000.0 / elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d statements written, %d already done, %d transactions, %d failed partitions " +
+                            "in %.1fs (%.1f statements/s)", statementsWritten, statementsSkipped, transactions,
+                    partitionsFailed, elapsedMillis / 1000.0, getStatementsPerSecond());
+        }
+    }
+
+    private static final String CHECKPOINT_FILE = "batch.checkpoint";
+    private static final long REPORT_INTERVAL_MS = 10_000;
+
+    private static final String ACCOUNT_COLUMNS =
+            "a.account_number, a.customer_id, a.account_type, a.balance, a.branch, a.employer_name, a.employer_address";
+    private static final String TRANSACTION_COLUMNS =
+            "t.transaction_id, t.account_number, t.transaction_type, t.amount, t.balance_after, t.description, t.transaction_date";
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Path outputDir;
+    private final StatementFormat format;
+    private final String customerType;
+    private final boolean detailed;
+    private final int workers;
+    private final int partitionSize;
+
+    private final long periodStart;
+    private final long periodEnd;
+
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicLong transactions = new AtomicLong();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger partitionsDone = new AtomicInteger();
+    private final AtomicLong lastReport = new AtomicLong();
+    private Set<String> finishedPartitions;
+    private int totalCustomers;
+    private int totalPartitions;
+    private long started;
+
+    // customerType null for every customer
+    public StatementBatchJob(LocalDate startDate, LocalDate endDate, Path outputDir, StatementFormat format,
+                             String customerType, boolean detailed, int workers, int partitionSize) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date " + startDate + " is after end date " + endDate);
+        }
+        if (workers < 1 || partitionSize < 1) {
+            throw new IllegalArgumentException("Workers and partition size must be at least 1");
+        }
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.outputDir = outputDir;
+        this.format = format;
+        this.customerType = customerType != null ? customerType.toUpperCase() : null;
+        this.detailed = detailed;
+        this.workers = workers;
+        this.partitionSize = partitionSize;
+
+        // Whole local days, half-open, compared as epoch millis like TransactionDAO
+        ZoneId zone = ZoneId.systemDefault();
+        this.periodStart = startDate.atStartOfDay(zone).toInstant().toEpochMilli();
+        this.periodEnd = endDate.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    public Report run() throws IOException, SQLException {
+        started = System.currentTimeMillis();
+        lastReport.set(started);
+        Files.createDirectories(outputDir);
+        finishedPartitions = loadCheckpoint();
+
+        List<String[]> partitions = planPartitions();
+        totalPartitions = partitions.size();
+        System.out.println("Statements " + startDate + " to " + endDate + " for " + totalCustomers + " customers in " +
+                partitions.size() + " partitions, " + workers + " workers -> " + outputDir);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        for (String[] partition : partitions) {
+            pool.execute(() -> runPartition(partition[0], partition[1]));
+        }
+        pool.shutdown();
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                // still working; progress is reported by the workers
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        return new Report(written.get(), skipped.get(), transactions.get(), failed.get(),
+                System.currentTimeMillis() - started);
+    }
+
+    // Partition boundaries as (after id exclusive, last id inclusive), from one pass over the primary key
+    private List<String[]> planPartitions() throws SQLException {
+        List<String[]> partitions = new ArrayList<>();
+        String sql = "SELECT customer_id FROM customers" +
+                (customerType != null ? " WHERE customer_type = ?" : "") + " ORDER BY customer_id";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            if (customerType != null) {
+                pstmt.setString(1, customerType);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                String after = "";
+                String last = null;
+                int inPartition = 0;
+                while (rs.next()) {
+                    last = rs.getString(1);
+                    totalCustomers++;
+                    if (++inPartition == partitionSize) {
+                        partitions.add(new String[]{after, last});
+                        after = last;
+                        inPartition = 0;
+                    }
+                }
+                if (inPartition > 0) {
+                    partitions.add(new String[]{after, last});
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private void runPartition(String afterId, String lastId) {
+        String key = afterId + "\t" + lastId;
+        if (finishedPartitions.contains(key)) {
+            countSkippedPartition(afterId, lastId);
+            return;
+        }
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            writePartition(conn, afterId, lastId);
+            appendCheckpoint(key);
+        } catch (SQLException | IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            System.out.println("Partition (" + afterId + ", " + lastId + "] failed: " + e.getMessage());
+        }
+        partitionsDone.incrementAndGet();
+        reportProgress();
+    }
+
+    private void writePartition(Connection conn, String afterId, String lastId) throws SQLException, IOException {
+        // One read transaction, so counts and rows come from the same snapshot
+        conn.setAutoCommit(false);
+        try {
+            writePartitionSnapshot(conn, afterId, lastId);
+        } finally {
+            conn.rollback();
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private void writePartitionSnapshot(Connection conn, String afterId, String lastId) throws SQLException, IOException {
+        List<Customer> customers = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM customers WHERE customer_id > ? AND customer_id <= ?" +
+                (customerType != null ? " AND customer_type = ?" : "") + " ORDER BY customer_id")) {
+            pstmt.setString(1, afterId);
+            pstmt.setString(2, lastId);
+            if (customerType != null) {
+                pstmt.setString(3, customerType);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    customers.add(CustomerDAO.mapCustomer(rs));
+                }
+            }
+        }
+
+        // Accounts in the same order the transaction query walks them. The join
+        // leaves out accounts whose customer has been deleted.
+        Map<String, List<Account>> accountsByCustomer = new HashMap<>();
+        Map<String, Integer> accountOrder = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT " + ACCOUNT_COLUMNS + " FROM accounts a" +
+                customerJoin() + " WHERE a.customer_id > ? AND a.customer_id <= ? ORDER BY a.customer_id, a.rowid")) {
+            int index = bindCustomerType(pstmt, 1);
+            pstmt.setString(index++, afterId);
+            pstmt.setString(index, lastId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int position = 0;
+                while (rs.next()) {
+                    Account account = AccountDAO.mapAccount(rs);
+                    // Keeps counting past unknown account types, so positions follow the query order
+                    position++;
+                    if (account != null) {
+                        accountsByCustomer.computeIfAbsent(rs.getString("customer_id"), k -> new ArrayList<>()).add(account);
+                        accountOrder.put(account.getAccountNumber(), position);
+                    }
+                }
+            }
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT t.account_number, COUNT(*) FROM accounts a" +
+                customerJoin() +
+                " JOIN transactions t ON t.account_number = a.account_number" +
+                " WHERE a.customer_id > ? AND a.customer_id <= ? AND t.transaction_date >= ? AND t.transaction_date < ?" +
+                " GROUP BY t.account_number")) {
+            int index = bindCustomerType(pstmt, 1);
+            pstmt.setString(index++, afterId);
+            pstmt.setString(index++, lastId);
+            pstmt.setLong(index++, periodStart);
+            pstmt.setLong(index, periodEnd);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getString(1), rs.getInt(2));
+                }
+            }
+        }
+
+        if (!detailed) {
+            for (Customer customer : customers) {
+                writeStatement(customer, accountsByCustomer, new PartitionTransactions(counts, null));
+            }
+            return;
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT " + TRANSACTION_COLUMNS + " FROM accounts a" +
+                customerJoin() +
+                " JOIN transactions t ON t.account_number = a.account_number" +
+                " AND t.transaction_date >= ? AND t.transaction_date < ?" +
+                " WHERE a.customer_id > ? AND a.customer_id <= ?" +
+                " ORDER BY a.customer_id, a.rowid, t.transaction_date DESC, t.transaction_id DESC")) {
+            int index = bindCustomerType(pstmt, 1);
+            pstmt.setLong(index++, periodStart);
+            pstmt.setLong(index++, periodEnd);
+            pstmt.setString(index++, afterId);
+            pstmt.setString(index, lastId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                PartitionTransactions source = new PartitionTransactions(counts, new TransactionCursor(rs, accountOrder));
+                for (Customer customer : customers) {
+                    writeStatement(customer, accountsByCustomer, source);
+                }
+            }
+        }
+    }
+
+    // Writes one customer's statement unless the file already exists. Rows of
+    // a skipped statement are passed over by the cursor on its next read.
+    private void writeStatement(Customer customer, Map<String, List<Account>> accountsByCustomer,
+                                PartitionTransactions source) throws IOException {
+        Path target = outputDir.resolve(fileName(customer.getCustomerId()) + format.getExtension());
+        if (Files.exists(target)) {
+            skipped.incrementAndGet();
+            return;
+        }
+
+        List<Account> accounts = accountsByCustomer.getOrDefault(customer.getCustomerId(), List.of());
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        int statementTransactions;
+        try (Writer out = Files.newBufferedWriter(part, StandardCharsets.UTF_8)) {
+            statementTransactions = StatementGenerator.write(customer, startDate, endDate, detailed,
+                    accounts, source, format.open(out));
+        }
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        written.incrementAndGet();
+        transactions.addAndGet(statementTransactions);
+    }
+
+    // Serves StatementGenerator.write from the partition's counts and its one transaction query
+    private static class PartitionTransactions implements StatementGenerator.TransactionSource {
+        private final Map<String, Integer> counts;
+        private final TransactionCursor cursor;
+
+        PartitionTransactions(Map<String, Integer> counts, TransactionCursor cursor) {
+            this.counts = counts;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public int count(Account account) {
+            return counts.getOrDefault(account.getAccountNumber(), 0);
+        }
+
+        @Override
+        public void emit(Account account, StatementSink sink) throws IOException {
+            try {
+                cursor.emit(account.getAccountNumber(), sink);
+            } catch (SQLException e) {
+                throw new IOException("Error reading transactions for " + account.getAccountNumber(), e);
+            }
+        }
+    }
+
+    // Walks the partition's transaction rows alongside the accounts. Each row's
+    // account has a position in the account query's order; reaching an account
+    // first passes over rows of earlier positions (statements skipped or with
+    // no rows asked for) and rows of accounts that were not loaded.
+    private static class TransactionCursor {
+        private final ResultSet rs;
+        private final Map<String, Integer> accountOrder;
+        private boolean hasRow;
+        private int rowPosition;
+
+        TransactionCursor(ResultSet rs, Map<String, Integer> accountOrder) throws SQLException {
+            this.rs = rs;
+            this.accountOrder = accountOrder;
+            advance();
+        }
+
+        void emit(String accountNumber, StatementSink sink) throws SQLException, IOException {
+            int position = accountOrder.get(accountNumber);
+            while (hasRow && rowPosition < position) {
+                advance();
+            }
+            while (hasRow && rowPosition == position) {
+                sink.transaction(TransactionDAO.mapTransaction(rs));
+                advance();
+            }
+        }
+
+        private void advance() throws SQLException {
+            while (hasRow = rs.next()) {
+                Integer position = accountOrder.get(rs.getString(2));
+                if (position != null) {
+                    rowPosition = position;
+                    return;
+                }
+            }
+        }
+    }
+
+    // Every query joins customers, so accounts left behind by a deleted
+    // customer never reach a statement
+    private String customerJoin() {
+        return " JOIN customers c ON c.customer_id = a.customer_id" +
+                (customerType != null ? " AND c.customer_type = ?" : "");
+    }
+
+    private int bindCustomerType(PreparedStatement pstmt, int index) throws SQLException {
+        if (customerType != null) {
+            pstmt.setString(index++, customerType);
+        }
+        return index;
+    }
+
+    private static String fileName(String customerId) {
+        return customerId.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    // Counts the customers of a partition finished in an earlier run
+    private void countSkippedPartition(String afterId, String lastId) {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM customers WHERE customer_id > ? AND customer_id <= ?" +
+                     (customerType != null ? " AND customer_type = ?" : ""))) {
+            pstmt.setString(1, afterId);
+            pstmt.setString(2, lastId);
+            if (customerType != null) {
+                pstmt.setString(3, customerType);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                skipped.addAndGet(rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            System.out.println("Error counting finished partition: " + e.getMessage());
+        }
+        partitionsDone.incrementAndGet();
+    }
+
+    // Settings line first, so a resume with different settings is refused
+    private Set<String> loadCheckpoint() throws IOException {
+        Path file = outputDir.resolve(CHECKPOINT_FILE);
+        String settings = "# " + startDate + " " + endDate + " " + format.name() + " " +
+                (customerType != null ? customerType : "ALL") + (detailed ? " DETAILED" : " SUMMARY");
+        Set<String> finished = new HashSet<>();
+
+        if (!Files.exists(file)) {
+            Files.writeString(file, settings + "\n", StandardCharsets.UTF_8);
+            return finished;
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(settings)) {
+            throw new IllegalStateException(file + " belongs to a different run (" +
+                    (lines.isEmpty() ? "empty" : lines.get(0)) + "); use another --out directory");
+        }
+        finished.addAll(lines.subList(1, lines.size()));
+        System.out.println("Resuming: " + finished.size() + " partitions already finished");
+        return finished;
+    }
+
+    private synchronized void appendCheckpoint(String key) throws IOException {
+        Files.writeString(outputDir.resolve(CHECKPOINT_FILE), key + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+    }
+
+    // At most one progress line per interval, from whichever worker gets there first
+    private void reportProgress() {
+        long now = System.currentTimeMillis();
+        long previous = lastReport.get();
+        if (now - previous < REPORT_INTERVAL_MS || !lastReport.compareAndSet(previous, now)) {
+            return;
+        }
+        int done = written.get() + skipped.get();
+        double seconds = (now - started) / 1000.0;
+        double rate = written.get() / Math.max(seconds, 0.001);
+        long remaining = rate > 0 ? (long) ((totalCustomers - done) / rate) : -1;
+        System.out.printf("%d/%d partitions, %d/%d customers, %d transactions, %.1f statements/s, ETA %s%n",
+                partitionsDone.get(), totalPartitions, done, totalCustomers, transactions.get(), rate,
+                remaining >= 0 ? remaining + "s" : "unknown");
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--summary")) {
+                options.put("summary", "true");
+            } else if (args[i].startsWith("--") && i + 1 < args.length) {
+                options.put(args[i].substring(2), args[++i]);
+            } else {
+                System.out.println("Unexpected argument: " + args[i]);
+                System.exit(2);
+            }
+        }
+
+        try {
+            LocalDate from;
+            LocalDate to;
+            if (options.containsKey("from") || options.containsKey("to")) {
+                from = LocalDate.parse(options.get("from"));
+                to = LocalDate.parse(options.get("to"));
+            } else {
+                YearMonth month = options.containsKey("month")
+                        ? YearMonth.parse(options.get("month")) : YearMonth.now().minusMonths(1);
+                from = month.atDay(1);
+                to = month.atEndOfMonth();
+            }
+            Path out = Paths.get(options.getOrDefault("out", "statements/" + from + "_" + to));
+            StatementFormat format = parseFormat(options.getOrDefault("format", "text"));
+            int workers = Integer.parseInt(options.getOrDefault("workers",
+                    String.valueOf(Math.max(1, DatabaseConnection.getPool().getMaxSize() - 1))));
+            int partitionSize = Integer.parseInt(options.getOrDefault("partition-size", "200"));
+
+            StatementBatchJob job = new StatementBatchJob(from, to, out, format, options.get("type"),
+                    !options.containsKey("summary"), workers, partitionSize);
+            Report report = job.run();
+            System.out.println(report);
+            System.exit(report.getPartitionsFailed() == 0 ? 0 : 1);
+        } catch (IOException | SQLException | RuntimeException e) {
+            System.out.println("Statement batch failed: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    private static StatementFormat parseFormat(String name) {
+        switch (name.toLowerCase()) {
+            case "csv":
+                return StatementFormat.CSV;
+            case "fixed":
+                return StatementFormat.FIXED_WIDTH;
+            case "text":
+                return StatementFormat.TEXT;
+            default:
+                throw new IllegalArgumentException("Unknown format: " + name + " (text, csv or fixed)");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+import java.io.Writer;
+
+// Output formats a statement can be written in
+public enum StatementFormat {
+    TEXT("Plain text", ".txt"),
+    CSV("CSV", ".csv"),
+    FIXED_WIDTH("Fixed width (print)", ".txt");
+
+    private final String label;
+    private final String extension;
+
+    StatementFormat(String label, String extension) {
+        this.label = label;
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public StatementSink open(Writer out) {
+        switch (this) {
+            case CSV:
+                return new CsvStatementSink(out);
+            case FIXED_WIDTH:
+                return new FixedWidthStatementSink(out);
+            default:
+                return new TextStatementSink(out);
+        }
+    }
+
+    // Shown in the format combo boxes
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,112 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+// Builds customer statements. Transactions are streamed from the date index
+// straight into a StatementSink, so nothing the size of the statement is ever
+// held in memory; the sink decides the format and where the output goes.
+public class StatementGenerator {
+
+    private final AccountDAO accountDAO;
+    private final TransactionDAO transactionDAO;
+
+    public StatementGenerator() {
+        this(new AccountDAO(), new TransactionDAO());
+    }
+
+    public StatementGenerator(AccountDAO accountDAO, TransactionDAO transactionDAO) {
+        this.accountDAO = accountDAO;
+        this.transactionDAO = transactionDAO;
+    }
+
+    // Whole local days from startDate to endDate inclusive; both null for the
+    // whole history. Returns the number of transactions in the period.
+    public int generate(Customer customer, LocalDate startDate, LocalDate endDate, boolean detailed,
+                        StatementSink sink) throws IOException {
+        ZoneId zone = ZoneId.systemDefault();
+        ZonedDateTime periodStart = startDate != null ? startDate.atStartOfDay(zone) : Instant.EPOCH.atZone(zone);
+        ZonedDateTime periodEnd = endDate != null
+                ? endDate.plusDays(1).atStartOfDay(zone)
+                : LocalDate.now(zone).plusDays(1).atStartOfDay(zone);
+
+        List<Account> accounts = accountDAO.getAccountsByCustomer(customer.getCustomerId());
+        return write(customer, startDate, endDate, detailed, accounts, new TransactionSource() {
+            @Override
+            public int count(Account account) {
+                // Counted from the index first, so the sink can print it ahead of the rows
+                return transactionDAO.countTransactionsInRange(account.getAccountNumber(), periodStart, periodEnd);
+            }
+
+            @Override
+            public void emit(Account account, StatementSink sink) throws IOException {
+                try {
+                    transactionDAO.forEachTransactionInRange(account.getAccountNumber(), periodStart, periodEnd,
+                            transaction -> {
+                                try {
+                                    sink.transaction(transaction);
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+        }, sink);
+    }
+
+    // Where write gets each account's period count and rows. generate reads them
+    // per account; StatementBatchJob serves them from its partition-wide queries.
+    interface TransactionSource {
+        int count(Account account) throws IOException;
+
+        // Only called for a detailed statement and an account with transactions
+        void emit(Account account, StatementSink sink) throws IOException;
+    }
+
+    // The statement layout shared by generate and StatementBatchJob: every
+    // account with its count and rows, then the totals
+    static int write(Customer customer, LocalDate startDate, LocalDate endDate, boolean detailed,
+                     List<Account> accounts, TransactionSource source, StatementSink sink) throws IOException {
+        sink.begin(customer, startDate, endDate, detailed);
+
+        long totalBalance = 0;
+        int totalTransactions = 0;
+        for (Account account : accounts) {
+            int transactionCount = source.count(account);
+            sink.beginAccount(account, transactionCount);
+            if (detailed && transactionCount > 0) {
+                source.emit(account, sink);
+            }
+            sink.endAccount(account, transactionCount);
+            totalTransactions += transactionCount;
+            totalBalance += account.getBalance().getThebe();
+        }
+
+        sink.end(accounts.size(), Money.ofThebe(totalBalance), totalTransactions);
+        return totalTransactions;
+    }
+
+    // Writes the statement to a new temporary file and returns it; the caller deletes it
+    public Path generateToTempFile(Customer customer, LocalDate startDate, LocalDate endDate, boolean detailed,
+                                   StatementFormat format) throws IOException {
+        Path file = Files.createTempFile("statement-" + customer.getCustomerId() + "-", format.getExtension());
+        // Backstop for a screen closed before its preview deleted the file
+        file.toFile().deleteOnExit();
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            generate(customer, startDate, endDate, detailed, format.open(out));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+}
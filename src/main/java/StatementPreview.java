@@ -0,0 +1,200 @@
+import javafx.geometry.Pos;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Shows a statement file a page at a time, so the preview costs one page of
+// text however long the statement is, and lets the user save the whole file.
+// The byte offset where each page starts is kept the first time the page
+// before it is read, so any page is one seek and one page of reading.
+// The preview owns the file and deletes it when replaced or cleared.
+public class StatementPreview extends VBox {
+
+    private static final Log LOG = Log.get("ui.statement");
+
+    private static final int LINES_PER_PAGE = 200;
+
+    private final ScreenTasks tasks;
+    private final TextArea textArea;
+    private final Label pageLabel;
+    private final Button previousButton;
+    private final Button nextButton;
+    private final Button saveButton;
+
+    private Path file;
+    private StatementFormat format;
+    private int page;
+    // pageOffsets.get(n) is where page n starts; page 0 always starts at 0
+    private final List<Long> pageOffsets = new ArrayList<>();
+
+    public StatementPreview(ScreenTasks tasks) {
+        super(8);
+        this.tasks = tasks;
+
+        textArea = new TextArea();
+        textArea.setEditable(false);
+        textArea.setWrapText(false);
+        textArea.setStyle("-fx-font-family: 'Monospaced'; -fx-font-size: 12px;");
+        VBox.setVgrow(textArea, Priority.ALWAYS);
+
+        previousButton = new Button("◀ Previous");
+        previousButton.setOnAction(e -> showPage(page - 1));
+        nextButton = new Button("Next ▶");
+        nextButton.setOnAction(e -> showPage(page + 1));
+        saveButton = new Button("Save As...");
+        saveButton.setOnAction(e -> save());
+        pageLabel = new Label();
+
+        HBox controls = new HBox(10, previousButton, pageLabel, nextButton, saveButton);
+        controls.setAlignment(Pos.CENTER);
+
+        getChildren().addAll(textArea, controls);
+        clear("");
+    }
+
+    public void show(Path statementFile, StatementFormat statementFormat) {
+        deleteFile();
+        file = statementFile;
+        format = statementFormat;
+        pageOffsets.clear();
+        pageOffsets.add(0L);
+        showPage(0);
+    }
+
+    public void clear(String message) {
+        deleteFile();
+        textArea.setText(message);
+        pageLabel.setText("");
+        previousButton.setDisable(true);
+        nextButton.setDisable(true);
+        saveButton.setDisable(true);
+    }
+
+    // Modal dialog around a preview; the file is deleted when it closes
+    public static void showDialog(String title, String header, Path statementFile, StatementFormat format,
+                                  ScreenTasks tasks) {
+        StatementPreview preview = new StatementPreview(tasks);
+        preview.setPrefSize(700, 450);
+        preview.show(statementFile, format);
+
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle(title);
+        alert.setHeaderText(header);
+        alert.getDialogPane().setContent(preview);
+        alert.showAndWait();
+        preview.clear("");
+    }
+
+    private void showPage(int requested) {
+        // Pages are reached one step at a time, so the offset is always known
+        if (file == null || requested < 0 || requested >= pageOffsets.size()) {
+            return;
+        }
+        Path current = file;
+        long offset = pageOffsets.get(requested);
+        previousButton.setDisable(true);
+        nextButton.setDisable(true);
+        tasks.load(() -> readPage(current, offset), result -> {
+            if (current != file) {
+                return; // replaced while reading
+            }
+            page = requested;
+            if (result.more && pageOffsets.size() == requested + 1) {
+                pageOffsets.add(result.nextOffset);
+            }
+            textArea.setText(result.text);
+            textArea.positionCaret(0);
+            pageLabel.setText("Page " + (page + 1));
+            previousButton.setDisable(page == 0);
+            nextButton.setDisable(!result.more);
+            saveButton.setDisable(false);
+        }, error -> textArea.setText("Could not read statement: " + error.getMessage()));
+    }
+
+    // Up to LINES_PER_PAGE lines starting at a byte offset. Lines are split
+    // on the '\n' byte, which never occurs inside a UTF-8 multi-byte character,
+    // so the offset of the next page is exact.
+    private static Page readPage(Path file, long offset) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            channel.position(offset);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024);
+            ByteArrayOutputStream text = new ByteArrayOutputStream();
+            long position = offset;
+            int lines = 0;
+            int last = '\n';
+            int b;
+            while (lines < LINES_PER_PAGE && (b = in.read()) != -1) {
+                position++;
+                text.write(b);
+                last = b;
+                if (b == '\n') {
+                    lines++;
+                }
+            }
+            if (last != '\n') {
+                text.write('\n'); // last line had no line break
+            }
+            // Anything left after the page means another page follows
+            return new Page(text.toString(StandardCharsets.UTF_8), position, position < channel.size());
+        }
+    }
+
+    private void save() {
+        if (file == null) {
+            return;
+        }
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Save Statement");
+        chooser.setInitialFileName("statement" + format.getExtension());
+        File target = chooser.showSaveDialog(getScene() != null ? getScene().getWindow() : null);
+        if (target == null) {
+            return;
+        }
+        Path source = file;
+        tasks.onFx(tasks.read(() -> Files.copy(source, target.toPath(), StandardCopyOption.REPLACE_EXISTING)),
+                saved -> pageLabel.setText("Saved to " + target.getName()),
+                error -> textArea.setText("Could not save statement: " + error.getMessage()));
+    }
+
+    private void deleteFile() {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOG.error("Could not delete statement file " + file + ": " + e.getMessage());
+            }
+            file = null;
+        }
+    }
+
+    private static class Page {
+        final String text;
+        final long nextOffset;
+        final boolean more;
+
+        Page(String text, long nextOffset, boolean more) {
+            this.text = text;
+            this.nextOffset = nextOffset;
+            this.more = more;
+        }
+    }
+}
@@ -4,29 +4,31 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.stream.Collectors;
 
 public class StatementScreen {
+
+    private static final Log LOG = Log.get("ui.statement");
+
     private Scene scene;
     private NavigationController navigationController;
     private BankingSystem bankingSystem;
     private CustomerDAO customerDAO;
-    private AccountDAO accountDAO;
-    private TransactionDAO transactionDAO;
-    private TextArea statementTextArea;
+    private StatementGenerator statementGenerator;
+    private StatementPreview statementPreview;
     private DatePicker startDatePicker;
     private DatePicker endDatePicker;
     private ComboBox<String> statementTypeComboBox;
-    private ComboBox<String> customerComboBox;
+    private ComboBox<StatementFormat> formatComboBox;
+    private CustomerPicker customerPicker;
+    private Button generateButton;
+    private ScreenTasks tasks;
 
     public StatementScreen(NavigationController navigationController, BankingSystem bankingSystem) {
         this.navigationController = navigationController;
         this.bankingSystem = bankingSystem;
         this.customerDAO = new CustomerDAO();
-        this.accountDAO = new AccountDAO();
-        this.transactionDAO = new TransactionDAO();
+        this.statementGenerator = new StatementGenerator();
+        this.tasks = navigationController.getScreenTasks();
         createUI();
     }
 
@@ -58,9 +60,9 @@ public class StatementScreen {
         // Customer selection (for employees)
         if (bankingSystem.getCurrentEmployee() != null) {
             Label customerLabel = new Label("Select Customer:");
-            customerComboBox = new ComboBox<>();
-            loadCustomers();
-            HBox customerBox = new HBox(10, customerLabel, customerComboBox);
+            customerPicker = new CustomerPicker(customerDAO, tasks);
+            customerPicker.setPrefWidth(350);
+            HBox customerBox = new HBox(10, customerLabel, customerPicker);
             customerBox.setAlignment(Pos.CENTER);
             controlsContainer.getChildren().add(customerBox);
         }
@@ -81,23 +83,24 @@ public class StatementScreen {
         statementTypeComboBox = new ComboBox<>();
         statementTypeComboBox.getItems().addAll("Summary", "Detailed Transactions");
         statementTypeComboBox.setValue("Summary");
-        typeBox.getChildren().addAll(typeLabel, statementTypeComboBox);
+        Label formatLabel = new Label("Format:");
+        formatComboBox = new ComboBox<>();
+        formatComboBox.getItems().addAll(StatementFormat.values());
+        formatComboBox.setValue(StatementFormat.TEXT);
+        typeBox.getChildren().addAll(typeLabel, statementTypeComboBox, formatLabel, formatComboBox);
 
         // Generate button
-        Button generateButton = new Button("Generate Statement");
+        generateButton = new Button("Generate Statement");
         generateButton.setStyle("-fx-background-color: #2e8b57; -fx-text-fill: white;");
         generateButton.setOnAction(e -> generateStatement());
 
         // Add controls to container
         controlsContainer.getChildren().addAll(dateBox, typeBox, generateButton);
 
-        // Statement display area
+        // Statement display area, paged from the generated file
         Label statementLabel = new Label("Statement:");
-        statementTextArea = new TextArea();
-        statementTextArea.setEditable(false);
-        statementTextArea.setWrapText(true);
-        statementTextArea.setPrefHeight(400);
-        statementTextArea.setStyle("-fx-font-family: 'Monospaced'; -fx-font-size: 12px;");
+        statementPreview = new StatementPreview(tasks);
+        statementPreview.setPrefHeight(400);
 
         // Add all components to main container
         mainContainer.getChildren().addAll(
@@ -105,31 +108,19 @@ public class StatementScreen {
                 backButton,
                 controlsContainer,
                 statementLabel,
-                statementTextArea
+                statementPreview
         );
 
         // Create scene
         scene = new Scene(mainContainer, 900, 700);
     }
 
-    private void loadCustomers() {
-        if (customerComboBox != null) {
-            List<Customer> customers = customerDAO.getAllCustomers();
-            customerComboBox.getItems().clear();
-            for (Customer customer : customers) {
-                customerComboBox.getItems().add(customer.getCustomerId() + " - " + customer.getDisplayName());
-            }
-            if (!customers.isEmpty()) {
-                customerComboBox.setValue(customerComboBox.getItems().get(0));
-            }
-        }
-    }
-
     private void generateStatement() {
         try {
             LocalDate startDate = startDatePicker.getValue();
             LocalDate endDate = endDatePicker.getValue();
-            String statementType = statementTypeComboBox.getValue();
+            boolean detailed = "Detailed Transactions".equals(statementTypeComboBox.getValue());
+            StatementFormat format = formatComboBox.getValue();
 
             // Validate dates
             if (startDate == null || endDate == null) {
@@ -142,30 +133,42 @@ public class StatementScreen {
                 return;
             }
 
-            // Get customer
-            Customer customer = getSelectedCustomer();
-            if (customer == null) {
-                showAlert("Error", "No customer selected or found.");
-                return;
-            }
-
-            // Generate and display statement
-            String statement = generateCustomerStatement(customer, startDate, endDate, statementType);
-            statementTextArea.setText(statement);
+            // Customer lookup and statement are written to a file on a database thread
+            CustomerSummary selected = customerPicker != null ? customerPicker.getSelectedCustomer() : null;
+            generateButton.setDisable(true);
+            statementPreview.clear("Generating statement...");
+
+            tasks.load(() -> {
+                Customer customer = getSelectedCustomer(selected);
+                return customer == null ? null
+                        : statementGenerator.generateToTempFile(customer, startDate, endDate, detailed, format);
+            }, file -> {
+                generateButton.setDisable(false);
+                if (file == null) {
+                    statementPreview.clear("");
+                    showAlert("Error", "No customer selected or found.");
+                    return;
+                }
+                statementPreview.show(file, format);
+            }, error -> {
+                generateButton.setDisable(false);
+                statementPreview.clear("");
+                showAlert("Error", "Failed to generate statement: " + error.getMessage());
+                LOG.error("Failed to generate statement: " + error.getMessage(), error);
+            });
 
         } catch (Exception e) {
             showAlert("Error", "Failed to generate statement: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to generate statement: " + e.getMessage(), e);
         }
     }
 
-    private Customer getSelectedCustomer() {
-        // If employee is logged in, use selected customer from combo box
-        if (bankingSystem.getCurrentEmployee() != null && customerComboBox != null) {
-            String selected = customerComboBox.getValue();
+    // selected is the picker's choice, read on the FX thread
+    private Customer getSelectedCustomer(CustomerSummary selected) {
+        // If employee is logged in, use selected customer from the picker
+        if (bankingSystem.getCurrentEmployee() != null && customerPicker != null) {
             if (selected != null) {
-                String customerId = selected.split(" - ")[0];
-                return customerDAO.getCustomerById(customerId);
+                return customerDAO.getCustomerById(selected.getCustomerId());
             }
         }
         // If customer is logged in, use current customer
@@ -175,92 +178,6 @@ public class StatementScreen {
         return null;
     }
 
-    private List<Transaction> getTransactionsByAccountAndDateRange(String accountNumber, LocalDate startDate, LocalDate endDate) {
-        // Get all transactions for the account
-        List<Transaction> allTransactions = transactionDAO.getTransactionsByAccount(accountNumber);
-
-        // Filter by date range using Java stream
-        return allTransactions.stream()
-                .filter(transaction -> {
-                    LocalDate transactionDate = transaction.getTimestamp().toLocalDate();
-                    return !transactionDate.isBefore(startDate) && !transactionDate.isAfter(endDate);
-                })
-                .collect(Collectors.toList());
-    }
-
-    private String generateCustomerStatement(Customer customer, LocalDate startDate, LocalDate endDate, String statementType) {
-        StringBuilder statement = new StringBuilder();
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
-        // Statement header
-        statement.append("=== BANKING STATEMENT ===\n\n");
-        statement.append("Customer: ").append(customer.getDisplayName()).append("\n");
-        statement.append("Customer ID: ").append(customer.getCustomerId()).append("\n");
-        statement.append("Customer Type: ").append(customer.getCustomerType()).append("\n");
-        statement.append("Statement Period: ").append(startDate.format(dateFormatter))
-                .append(" to ").append(endDate.format(dateFormatter)).append("\n");
-        statement.append("Statement Date: ").append(LocalDate.now().format(dateFormatter)).append("\n");
-        statement.append("Statement Type: ").append(statementType).append("\n\n");
-
-        // Get customer accounts
-        List<Account> accounts = accountDAO.getAccountsByCustomer(customer.getCustomerId());
-
-        if (accounts.isEmpty()) {
-            statement.append("No accounts found for this customer.\n");
-            return statement.toString();
-        }
-
-        double totalBalance = 0.0;
-        int totalTransactions = 0;
-
-        // Account summary section
-        statement.append("=== ACCOUNT SUMMARY ===\n");
-        statement.append("========================================\n");
-
-        for (Account account : accounts) {
-            statement.append("Account: ").append(account.getAccountNumber()).append("\n");
-            statement.append("Type: ").append(account.getAccountType()).append("\n");
-            statement.append("Current Balance: ").append(account.getFormattedBalance()).append("\n");
-            statement.append("Branch: ").append(account.getBranch()).append("\n");
-
-            // Get transactions for this account within date range
-            List<Transaction> transactions = getTransactionsByAccountAndDateRange(
-                    account.getAccountNumber(), startDate, endDate);
-
-            totalTransactions += transactions.size();
-            totalBalance += account.getBalance();
-
-            statement.append("Transactions in period: ").append(transactions.size()).append("\n");
-
-            if (statementType.equals("Detailed Transactions") && !transactions.isEmpty()) {
-                statement.append("\nTransaction Details:\n");
-                statement.append("----------------------------------------\n");
-                // Sort transactions by timestamp (newest first)
-                transactions.sort((t1, t2) -> t2.getTimestamp().compareTo(t1.getTimestamp()));
-
-                for (Transaction transaction : transactions) {
-                    statement.append(transaction.toString()).append("\n");
-                }
-            } else if (statementType.equals("Detailed Transactions") && transactions.isEmpty()) {
-                statement.append("\nNo transactions in selected period.\n");
-            }
-
-            statement.append("----------------------------------------\n\n");
-        }
-
-        // Summary section
-        statement.append("=== SUMMARY ===\n");
-        statement.append("Total Accounts: ").append(accounts.size()).append("\n");
-        statement.append("Total Balance: P").append(String.format("%.2f", totalBalance)).append("\n");
-        statement.append("Total Transactions in Period: ").append(totalTransactions).append("\n\n");
-
-        statement.append("=== END OF STATEMENT ===\n");
-        statement.append("Generated by Banking System\n");
-        statement.append("For inquiries, contact your branch.");
-
-        return statement.toString();
-    }
-
     private void showAlert(String title, String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle(title);
@@ -0,0 +1,22 @@
+import java.io.IOException;
+import java.time.LocalDate;
+
+// Receives a statement from StatementGenerator one piece at a time, in this
+// order: begin, then beginAccount / transaction* / endAccount per account,
+// then end. Implementations write straight to their output and keep nothing
+// per row, so a statement of any length runs in constant memory.
+public interface StatementSink {
+
+    // startDate and endDate are null for a statement of the whole history
+    void begin(Customer customer, LocalDate startDate, LocalDate endDate, boolean detailed) throws IOException;
+
+    // transactionCount is the number of transactions in the period
+    void beginAccount(Account account, int transactionCount) throws IOException;
+
+    // Only called for detailed statements, newest first
+    void transaction(Transaction transaction) throws IOException;
+
+    void endAccount(Account account, int transactionCount) throws IOException;
+
+    void end(int accountCount, Money totalBalance, int transactionCount) throws IOException;
+}
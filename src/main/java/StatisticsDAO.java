@@ -0,0 +1,243 @@
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Dashboard figures computed in SQL. Account and customer totals come from the
+// balance_totals and customer_totals tables, which triggers keep current on
+// every write, so the headline numbers are a handful of row reads however big
+// the bank gets. verifyTotals/rebuildTotals check them against the base tables.
+public class StatisticsDAO {
+
+    private static final Log LOG = Log.get("dao.statistics");
+
+    public static class Overview {
+        private final int totalCustomers;
+        private final int totalEmployees;
+        private final int totalAccounts;
+        private final Money totalBalance;
+
+        Overview(int totalCustomers, int totalEmployees, int totalAccounts, Money totalBalance) {
+            this.totalCustomers = totalCustomers;
+            this.totalEmployees = totalEmployees;
+            this.totalAccounts = totalAccounts;
+            this.totalBalance = totalBalance;
+        }
+
+        public int getTotalCustomers() { return totalCustomers; }
+        public int getTotalEmployees() { return totalEmployees; }
+        public int getTotalAccounts() { return totalAccounts; }
+        public Money getTotalBalance() { return totalBalance; }
+    }
+
+    // One row of a GROUP BY: account type, branch, customer type or customer id
+    public static class Breakdown {
+        private final String key;
+        private final int count;
+        private final Money totalBalance;
+
+        Breakdown(String key, int count, Money totalBalance) {
+            this.key = key;
+            this.count = count;
+            this.totalBalance = totalBalance;
+        }
+
+        public String getKey() { return key; }
+        public int getCount() { return count; }
+        public Money getTotalBalance() { return totalBalance; }
+
+        @Override
+        public String toString() {
+            return key + ": " + count + " (" + totalBalance + ")";
+        }
+    }
+
+    // A running total that does not match what the base tables say
+    public static class Drift {
+        private final String table;
+        private final String key;
+        private final long storedCount;
+        private final long actualCount;
+        private final Money storedBalance;
+        private final Money actualBalance;
+
+        Drift(String table, String key, long storedCount, long actualCount, Money storedBalance, Money actualBalance) {
+            this.table = table;
+            this.key = key;
+            this.storedCount = storedCount;
+            this.actualCount = actualCount;
+            this.storedBalance = storedBalance;
+            this.actualBalance = actualBalance;
+        }
+
+        public String getTable() { return table; }
+        public String getKey() { return key; }
+        public long getStoredCount() { return storedCount; }
+        public long getActualCount() { return actualCount; }
+        public Money getStoredBalance() { return storedBalance; }
+        public Money getActualBalance() { return actualBalance; }
+
+        @Override
+        public String toString() {
+            return table + " [" + key + "]: count " + storedCount + " vs " + actualCount +
+                    ", balance " + storedBalance + " vs " + actualBalance;
+        }
+    }
+
+    // Recomputes the running totals from the base tables. Also used by the
+    // schema migration that introduced them.
+    static final String[] REBUILD_TOTALS = {
+            "DELETE FROM balance_totals",
+            "INSERT INTO balance_totals (account_type, branch, account_count, total_balance) " +
+                    "SELECT account_type, COALESCE(branch, 'Unknown'), COUNT(*), COALESCE(SUM(balance), 0) " +
+                    "FROM accounts GROUP BY 1, 2",
+            "DELETE FROM customer_totals",
+            "INSERT INTO customer_totals (customer_type, customer_count) " +
+                    "SELECT customer_type, COUNT(*) FROM customers GROUP BY customer_type"
+    };
+
+    // Full outer join of stored vs recomputed totals, written as two LEFT JOINs
+    private static final String BALANCE_DRIFT_SQL =
+            "WITH actual AS (SELECT account_type, COALESCE(branch, 'Unknown') AS branch, " +
+                    "COUNT(*) AS n, COALESCE(SUM(balance), 0) AS total FROM accounts GROUP BY 1, 2) " +
+                    "SELECT t.account_type || '/' || t.branch, t.account_count, COALESCE(a.n, 0), " +
+                    "t.total_balance, COALESCE(a.total, 0) FROM balance_totals t " +
+                    "LEFT JOIN actual a ON a.account_type = t.account_type AND a.branch = t.branch " +
+                    "WHERE t.account_count IS NOT COALESCE(a.n, 0) OR t.total_balance IS NOT COALESCE(a.total, 0) " +
+                    "UNION ALL " +
+                    "SELECT a.account_type || '/' || a.branch, 0, a.n, 0, a.total FROM actual a " +
+                    "LEFT JOIN balance_totals t ON t.account_type = a.account_type AND t.branch = a.branch " +
+                    "WHERE t.account_type IS NULL";
+
+    private static final String CUSTOMER_DRIFT_SQL =
+            "WITH actual AS (SELECT customer_type, COUNT(*) AS n FROM customers GROUP BY customer_type) " +
+                    "SELECT t.customer_type, t.customer_count, COALESCE(a.n, 0) FROM customer_totals t " +
+                    "LEFT JOIN actual a ON a.customer_type = t.customer_type " +
+                    "WHERE t.customer_count IS NOT COALESCE(a.n, 0) " +
+                    "UNION ALL " +
+                    "SELECT a.customer_type, 0, a.n FROM actual a " +
+                    "LEFT JOIN customer_totals t ON t.customer_type = a.customer_type " +
+                    "WHERE t.customer_type IS NULL";
+
+    private static final String OVERVIEW_SQL =
+            "SELECT (SELECT COALESCE(SUM(customer_count), 0) FROM customer_totals), " +
+                    "(SELECT COUNT(*) FROM employees), " +
+                    "(SELECT COALESCE(SUM(account_count), 0) FROM balance_totals), " +
+                    "(SELECT COALESCE(SUM(total_balance), 0) FROM balance_totals)";
+
+    public Overview getOverview() {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(OVERVIEW_SQL)) {
+
+            if (rs.next()) {
+                return new Overview(rs.getInt(1), rs.getInt(2), rs.getInt(3), Money.ofThebe(rs.getLong(4)));
+            }
+
+        } catch (SQLException e) {
+            LOG.error("Error getting overview statistics: " + e.getMessage());
+        }
+        return new Overview(0, 0, 0, Money.ZERO);
+    }
+
+    public List<Breakdown> getAccountsByType() {
+        return breakdown("SELECT account_type, SUM(account_count), SUM(total_balance) FROM balance_totals " +
+                "GROUP BY account_type HAVING SUM(account_count) > 0 ORDER BY account_type");
+    }
+
+    public List<Breakdown> getAccountsByBranch() {
+        return breakdown("SELECT branch, SUM(account_count), SUM(total_balance) FROM balance_totals " +
+                "GROUP BY branch HAVING SUM(account_count) > 0 ORDER BY branch");
+    }
+
+    // Balance here is what the customers of each type hold across their accounts.
+    // Not kept as a running total since it depends on the customer behind each
+    // account; it is only used for reports, not the dashboard.
+    public List<Breakdown> getCustomersByType() {
+        return breakdown("SELECT c.customer_type, COUNT(DISTINCT c.customer_id), COALESCE(SUM(a.balance), 0) " +
+                "FROM customers c LEFT JOIN accounts a ON a.customer_id = c.customer_id " +
+                "GROUP BY c.customer_type ORDER BY c.customer_type");
+    }
+
+    // Account count and total balance per customer id, in one grouped query
+    // answered from idx_accounts_customer. Customers without accounts are absent.
+    public Map<String, Breakdown> getCustomerRollups() {
+        Map<String, Breakdown> rollups = new HashMap<>();
+        for (Breakdown row : breakdown("SELECT customer_id, COUNT(*), COALESCE(SUM(balance), 0) FROM accounts " +
+                "GROUP BY customer_id")) {
+            rollups.put(row.getKey(), row);
+        }
+        return rollups;
+    }
+
+    // Empty when the running totals match the base tables
+    public List<Drift> verifyTotals() {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return findDrift(conn);
+        } catch (SQLException e) {
+            LOG.error("Error verifying totals: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Recomputes the running totals in one transaction and returns the drift
+    // that was corrected, or null if the rebuild failed
+    public List<Drift> rebuildTotals() {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            // findDrift reads before the rebuild writes
+            DatabaseConnection.beginImmediate(conn);
+            try (Statement stmt = conn.createStatement()) {
+                List<Drift> drift = findDrift(conn);
+                for (String sql : REBUILD_TOTALS) {
+                    stmt.execute(sql);
+                }
+                conn.commit();
+                return drift;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error rebuilding totals: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private List<Drift> findDrift(Connection conn) throws SQLException {
+        List<Drift> drift = new ArrayList<>();
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(BALANCE_DRIFT_SQL)) {
+                while (rs.next()) {
+                    drift.add(new Drift("balance_totals", rs.getString(1), rs.getLong(2), rs.getLong(3),
+                            Money.ofThebe(rs.getLong(4)), Money.ofThebe(rs.getLong(5))));
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery(CUSTOMER_DRIFT_SQL)) {
+                while (rs.next()) {
+                    drift.add(new Drift("customer_totals", rs.getString(1), rs.getLong(2), rs.getLong(3),
+                            Money.ZERO, Money.ZERO));
+                }
+            }
+        }
+        return drift;
+    }
+
+    private List<Breakdown> breakdown(String sql) {
+        List<Breakdown> rows = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                rows.add(new Breakdown(rs.getString(1), rs.getInt(2), Money.ofThebe(rs.getLong(3))));
+            }
+
+        } catch (SQLException e) {
+            LOG.error("Error getting statistics: " + e.getMessage());
+        }
+        return rows;
+    }
+}
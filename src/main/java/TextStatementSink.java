@@ -0,0 +1,82 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+// The plain text statement layout shown on screen
+public class TextStatementSink implements StatementSink {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final Writer out;
+    private boolean detailed;
+    private boolean firstAccount;
+
+    public TextStatementSink(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin(Customer customer, LocalDate startDate, LocalDate endDate, boolean detailed) throws IOException {
+        this.detailed = detailed;
+        this.firstAccount = true;
+        out.write("=== BANKING STATEMENT ===\n\n");
+        out.write("Customer: " + customer.getDisplayName() + "\n");
+        out.write("Customer ID: " + customer.getCustomerId() + "\n");
+        out.write("Customer Type: " + customer.getCustomerType() + "\n");
+        if (startDate != null && endDate != null) {
+            out.write("Statement Period: " + startDate.format(DATE_FORMAT) + " to " + endDate.format(DATE_FORMAT) + "\n");
+        } else {
+            out.write("Statement Period: All transactions\n");
+        }
+        out.write("Statement Date: " + LocalDate.now().format(DATE_FORMAT) + "\n");
+        out.write("Statement Type: " + (detailed ? "Detailed Transactions" : "Summary") + "\n\n");
+    }
+
+    @Override
+    public void beginAccount(Account account, int transactionCount) throws IOException {
+        if (firstAccount) {
+            out.write("=== ACCOUNT SUMMARY ===\n");
+            out.write("========================================\n");
+            firstAccount = false;
+        }
+        out.write("Account: " + account.getAccountNumber() + "\n");
+        out.write("Type: " + account.getAccountType() + "\n");
+        out.write("Current Balance: " + account.getFormattedBalance() + "\n");
+        out.write("Branch: " + account.getBranch() + "\n");
+        out.write("Transactions in period: " + transactionCount + "\n");
+
+        if (detailed && transactionCount > 0) {
+            out.write("\nTransaction Details:\n");
+            out.write("----------------------------------------\n");
+        } else if (detailed) {
+            out.write("\nNo transactions in selected period.\n");
+        }
+    }
+
+    @Override
+    public void transaction(Transaction transaction) throws IOException {
+        TransactionRenderer.appendLine(out, transaction).write('\n');
+    }
+
+    @Override
+    public void endAccount(Account account, int transactionCount) throws IOException {
+        out.write("----------------------------------------\n\n");
+    }
+
+    @Override
+    public void end(int accountCount, Money totalBalance, int transactionCount) throws IOException {
+        if (accountCount == 0) {
+            out.write("No accounts found for this customer.\n");
+            return;
+        }
+        out.write("=== SUMMARY ===\n");
+        out.write("Total Accounts: " + accountCount + "\n");
+        out.write("Total Balance: " + totalBalance + "\n");
+        out.write("Total Transactions in Period: " + transactionCount + "\n\n");
+
+        out.write("=== END OF STATEMENT ===\n");
+        out.write("Generated by Banking System\n");
+        out.write("For inquiries, contact your branch.");
+    }
+}
@@ -0,0 +1,40 @@
+import java.util.List;
+
+// Checks the running totals against the accounts and customers tables.
+//   java TotalsCommand verify    report drift, exit 1 if there is any
+//   java TotalsCommand rebuild   recompute the totals and report what was fixed
+public class TotalsCommand {
+
+    public static void main(String[] args) {
+        String command = args.length > 0 ? args[0] : "verify";
+        StatisticsDAO statisticsDAO = new StatisticsDAO();
+
+        List<StatisticsDAO.Drift> drift;
+        if (command.equals("verify")) {
+            drift = statisticsDAO.verifyTotals();
+        } else if (command.equals("rebuild")) {
+            drift = statisticsDAO.rebuildTotals();
+        } else {
+            System.out.println("Usage: TotalsCommand verify|rebuild");
+            System.exit(2);
+            return;
+        }
+
+        if (drift == null) {
+            System.exit(2);
+        }
+        for (StatisticsDAO.Drift row : drift) {
+            System.out.println(row);
+        }
+
+        if (drift.isEmpty()) {
+            System.out.println("Running totals match the base tables");
+        } else if (command.equals("rebuild")) {
+            System.out.println("Rebuilt running totals, corrected " + drift.size() + " row(s)");
+        } else {
+            System.out.println(drift.size() + " running total(s) out of step - run 'TotalsCommand rebuild'");
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+}
@@ -1,42 +1,46 @@
 import java.io.Serializable;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 public class Transaction implements Serializable {
     private static final long serialVersionUID = 1L;
-    private String accountNumber;
-    private String transactionType;
-    private double amount;
-    private double balanceAfter;
-    private String description;
-    private LocalDateTime timestamp;
+    private final long transactionId;
+    private final String accountNumber;
+    private final String transactionType;
+    private final Money amount;
+    private final Money balanceAfter;
+    private final String description;
+    private final LocalDateTime timestamp;
 
-    public Transaction(String accountNumber, String transactionType, double amount,
-                       double balanceAfter, String description) {
+    // New, not yet persisted transaction stamped with the current time
+    public Transaction(String accountNumber, String transactionType, Money amount,
+                       Money balanceAfter, String description) {
+        this(0L, accountNumber, transactionType, amount, balanceAfter, description, LocalDateTime.now());
+    }
+
+    // Transaction read back from the database, keeping its stored id and date
+    public Transaction(long transactionId, String accountNumber, String transactionType, Money amount,
+                       Money balanceAfter, String description, LocalDateTime timestamp) {
+        this.transactionId = transactionId;
         this.accountNumber = accountNumber;
         this.transactionType = transactionType;
         this.amount = amount;
         this.balanceAfter = balanceAfter;
         this.description = description;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = timestamp;
     }
 
     // Getters
+    public long getTransactionId() { return transactionId; }
+    public boolean isPersisted() { return transactionId > 0; }
     public String getAccountNumber() { return accountNumber; }
     public String getTransactionType() { return transactionType; }
-    public double getAmount() { return amount; }
-    public double getBalanceAfter() { return balanceAfter; }
+    public Money getAmount() { return amount; }
+    public Money getBalanceAfter() { return balanceAfter; }
     public String getDescription() { return description; }
     public LocalDateTime getTimestamp() { return timestamp; }
 
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        return String.format("[%s] %s: P%.2f | Balance: P%.2f | %s",
-                timestamp.format(formatter),
-                transactionType, amount, balanceAfter, description);
+        return TransactionRenderer.appendLine(new StringBuilder(96), this).toString();
     }
-
-
-
-}
\ No newline at end of file
+}
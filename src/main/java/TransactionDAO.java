@@ -1,38 +1,95 @@
 import java.sql.*;
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class TransactionDAO {
 
+    private static final Log LOG = Log.get("dao.transaction");
+
+    static final String INSERT_SQL = "INSERT INTO transactions (account_number, transaction_type, amount, balance_after, description, transaction_date) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Optional group commit for postings and recordTransaction, enabled with
+    // -Dbanking.db.groupCommit=true
+    private static GroupCommitJournal journal;
+
+    static {
+        if (Boolean.getBoolean("banking.db.groupCommit")) {
+            enableGroupCommit(Integer.getInteger("banking.db.groupCommit.maxBatch", 256),
+                    Long.getLong("banking.db.groupCommit.maxLatencyMs", 2L));
+        }
+    }
+
+    public static synchronized void enableGroupCommit(int maxBatchSize, long maxLatencyMillis) {
+        if (journal == null) {
+            journal = new GroupCommitJournal(maxBatchSize, maxLatencyMillis);
+        }
+    }
+
+    public static synchronized void disableGroupCommit() {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    public static synchronized GroupCommitJournal getJournal() {
+        return journal;
+    }
+
+    // Column order used by every read path; mapTransaction() reads by index
+    static final String SELECT_COLUMNS =
+            "transaction_id, account_number, transaction_type, amount, balance_after, description, transaction_date";
+
+    static Transaction mapTransaction(ResultSet rs) throws SQLException {
+        Timestamp stored = rs.getTimestamp(7);
+        return new Transaction(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                Money.ofThebe(rs.getLong(4)),
+                Money.ofThebe(rs.getLong(5)),
+                rs.getString(6),
+                stored != null ? stored.toLocalDateTime() : null
+        );
+    }
+
+    static void bindInsert(PreparedStatement pstmt, Transaction transaction) throws SQLException {
+        pstmt.setString(1, transaction.getAccountNumber());
+        pstmt.setString(2, transaction.getTransactionType());
+        pstmt.setLong(3, transaction.getAmount().getThebe());
+        pstmt.setLong(4, transaction.getBalanceAfter().getThebe());
+        pstmt.setString(5, transaction.getDescription());
+        pstmt.setTimestamp(6, Timestamp.valueOf(transaction.getTimestamp()));
+    }
+
     // FIXED: Record transaction with proper constructor
     public boolean recordTransaction(Transaction transaction) {
-        String sql = "INSERT INTO transactions (account_number, transaction_type, amount, balance_after, description, transaction_date) VALUES (?, ?, ?, ?, ?, ?)";
 
-        System.out.println("🔍 TRANSACTION DEBUG:");
-        System.out.println("Account: " + transaction.getAccountNumber());
-        System.out.println("Type: " + transaction.getTransactionType());
-        System.out.println("Amount: " + transaction.getAmount());
-        System.out.println("Balance After: " + transaction.getBalanceAfter());
-        System.out.println("Description: " + transaction.getDescription());
+        LOG.debug(() -> "Recording " + transaction.getTransactionType() + " of " + transaction.getAmount() +
+                " on " + transaction.getAccountNumber() + ", balance after " + transaction.getBalanceAfter() +
+                " (" + transaction.getDescription() + ")");
+
+        GroupCommitJournal groupCommit = getJournal();
+        if (groupCommit != null) {
+            boolean recorded = groupCommit.append(transaction);
+            LOG.debug(() -> "Transaction recorded: " + recorded);
+            return recorded;
+        }
 
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
 
-            pstmt.setString(1, transaction.getAccountNumber());
-            pstmt.setString(2, transaction.getTransactionType());
-            pstmt.setDouble(3, transaction.getAmount());
-            pstmt.setDouble(4, transaction.getBalanceAfter());
-            pstmt.setString(5, transaction.getDescription());
-            pstmt.setTimestamp(6, Timestamp.valueOf(transaction.getTimestamp()));
+            bindInsert(pstmt, transaction);
 
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Transaction recorded: " + (rowsAffected > 0));
+            LOG.debug(() -> "Transaction recorded: " + (rowsAffected > 0));
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.out.println("❌ Error recording transaction: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error recording transaction: " + e.getMessage(), e);
             return false;
         }
     }
@@ -40,7 +97,7 @@ public class TransactionDAO {
     // Get transactions by account number
     public List<Transaction> getTransactionsByAccount(String accountNumber) {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions WHERE account_number = ? ORDER BY transaction_date DESC";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM transactions WHERE account_number = ? ORDER BY transaction_date DESC, transaction_id DESC";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -49,27 +106,67 @@ public class TransactionDAO {
             ResultSet rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                // FIXED: Use proper constructor that matches your Transaction class
-                Transaction transaction = new Transaction(
-                        rs.getString("account_number"),
-                        rs.getString("transaction_type"),
-                        rs.getDouble("amount"),
-                        rs.getDouble("balance_after"),
-                        rs.getString("description")
-                );
+                Transaction transaction = mapTransaction(rs);
                 transactions.add(transaction);
             }
 
         } catch (SQLException e) {
-            System.out.println("Error getting transactions: " + e.getMessage());
+            LOG.error("Error getting transactions: " + e.getMessage());
         }
         return transactions;
     }
 
+    // Keyset pagination, newest first. Pass null for the first page, then the
+    // previous page's next cursor. Seeks through idx_transactions_account_date
+    // instead of reading the whole history.
+    public TransactionPage getTransactionPage(String accountNumber, TransactionPage.Cursor after, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1: " + pageSize);
+        }
+
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM transactions WHERE account_number = ?" +
+                (after != null ? " AND (transaction_date, transaction_id) < (?, ?)" : "") +
+                " ORDER BY transaction_date DESC, transaction_id DESC LIMIT ?";
+
+        List<Transaction> transactions = new ArrayList<>(pageSize);
+        TransactionPage.Cursor next = null;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            pstmt.setString(index++, accountNumber);
+            if (after != null) {
+                pstmt.setObject(index++, after.getTransactionDate());
+                pstmt.setLong(index++, after.getTransactionId());
+            }
+            // One extra row tells us whether another page exists
+            pstmt.setInt(index, pageSize + 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                Object lastDate = null;
+                long lastId = 0;
+                while (rs.next()) {
+                    if (transactions.size() == pageSize) {
+                        next = new TransactionPage.Cursor(lastDate, lastId);
+                        break;
+                    }
+                    lastId = rs.getLong(1);
+                    lastDate = rs.getObject(7);
+                    transactions.add(mapTransaction(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            LOG.error("Error getting transaction page: " + e.getMessage());
+        }
+        return new TransactionPage(transactions, next);
+    }
+
     // Get transactions by account and date range
     public List<Transaction> getTransactionsByAccountAndDate(String accountNumber, java.util.Date startDate, java.util.Date endDate) {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions WHERE account_number = ? AND transaction_date BETWEEN ? AND ? ORDER BY transaction_date DESC";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM transactions WHERE account_number = ? AND transaction_date BETWEEN ? AND ? ORDER BY transaction_date DESC, transaction_id DESC";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -81,46 +178,86 @@ public class TransactionDAO {
             ResultSet rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                // FIXED: Use proper constructor that matches your Transaction class
-                Transaction transaction = new Transaction(
-                        rs.getString("account_number"),
-                        rs.getString("transaction_type"),
-                        rs.getDouble("amount"),
-                        rs.getDouble("balance_after"),
-                        rs.getString("description")
-                );
+                Transaction transaction = mapTransaction(rs);
                 transactions.add(transaction);
             }
 
         } catch (SQLException e) {
-            System.out.println("Error getting transactions by date: " + e.getMessage());
+            LOG.error("Error getting transactions by date: " + e.getMessage());
         }
         return transactions;
     }
 
+    // Streams an account's transactions in [fromInclusive, toExclusive) to the
+    // consumer, newest first, without building a list. transaction_date is stored
+    // by the JDBC driver as epoch milliseconds, so the bounds are converted to
+    // instants in the caller's zone and compared as integers on the index.
+    public int forEachTransactionInRange(String accountNumber, ZonedDateTime fromInclusive,
+                                         ZonedDateTime toExclusive, Consumer<Transaction> consumer) {
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM transactions " +
+                "WHERE account_number = ? AND transaction_date >= ? AND transaction_date < ? " +
+                "ORDER BY transaction_date DESC, transaction_id DESC";
+        int count = 0;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, accountNumber);
+            pstmt.setLong(2, fromInclusive.toInstant().toEpochMilli());
+            pstmt.setLong(3, toExclusive.toInstant().toEpochMilli());
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapTransaction(rs));
+                    count++;
+                }
+            }
+
+        } catch (SQLException e) {
+            LOG.error("Error streaming transactions by date: " + e.getMessage());
+        }
+        return count;
+    }
+
+    // Count for the same half-open range, answered from the index alone
+    public int countTransactionsInRange(String accountNumber, ZonedDateTime fromInclusive, ZonedDateTime toExclusive) {
+        String sql = "SELECT COUNT(*) FROM transactions WHERE account_number = ? AND transaction_date >= ? AND transaction_date < ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, accountNumber);
+            pstmt.setLong(2, fromInclusive.toInstant().toEpochMilli());
+            pstmt.setLong(3, toExclusive.toInstant().toEpochMilli());
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+
+        } catch (SQLException e) {
+            LOG.error("Error counting transactions by date: " + e.getMessage());
+        }
+        return 0;
+    }
+
     // Get all transactions (for reporting)
     public List<Transaction> getAllTransactions() {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions ORDER BY transaction_date DESC";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM transactions ORDER BY transaction_date DESC, transaction_id DESC";
 
         try (Connection conn = DatabaseConnection.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                // FIXED: Use proper constructor that matches your Transaction class
-                Transaction transaction = new Transaction(
-                        rs.getString("account_number"),
-                        rs.getString("transaction_type"),
-                        rs.getDouble("amount"),
-                        rs.getDouble("balance_after"),
-                        rs.getString("description")
-                );
+                Transaction transaction = mapTransaction(rs);
                 transactions.add(transaction);
             }
 
         } catch (SQLException e) {
-            System.out.println("Error getting all transactions: " + e.getMessage());
+            LOG.error("Error getting all transactions: " + e.getMessage());
         }
         return transactions;
     }
@@ -140,7 +277,7 @@ public class TransactionDAO {
             }
 
         } catch (SQLException e) {
-            System.out.println("Error getting transaction count: " + e.getMessage());
+            LOG.error("Error getting transaction count: " + e.getMessage());
         }
         return 0;
     }
@@ -150,22 +287,23 @@ public class TransactionDAO {
         try (Connection conn = DatabaseConnection.getConnection();
              Statement stmt = conn.createStatement()) {
 
-            System.out.println("🔍 TRANSACTION TABLE DEBUG:");
+            StringBuilder info = new StringBuilder("Transaction table:");
 
             // Check table structure
             ResultSet rs = stmt.executeQuery("PRAGMA table_info(transactions)");
-            System.out.println("Transaction Table Columns:");
+            info.append("\nTransaction Table Columns:");
             while (rs.next()) {
-                System.out.println("  - " + rs.getString("name") + " (" + rs.getString("type") + ")");
+                info.append("\n  - ").append(rs.getString("name")).append(" (").append(rs.getString("type")).append(")");
             }
 
             // Check if table has data
             rs = stmt.executeQuery("SELECT COUNT(*) as count FROM transactions");
             rs.next();
-            System.out.println("Total transactions in database: " + rs.getInt("count"));
+            info.append("\nTotal transactions in database: ").append(rs.getInt("count"));
+            LOG.info(info.toString());
 
         } catch (SQLException e) {
-            System.out.println("Debug error: " + e.getMessage());
+            LOG.error("Debug error: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+import java.util.List;
+
+// One page of an account's history, newest first, plus the cursor for the next page
+public class TransactionPage {
+
+    // Position after the last row of a page: (transaction_date, transaction_id).
+    // The date is kept exactly as SQLite returned it so it compares the same way
+    // when bound back into the next query.
+    public static class Cursor {
+        private final Object transactionDate;
+        private final long transactionId;
+
+        public Cursor(Object transactionDate, long transactionId) {
+            this.transactionDate = transactionDate;
+            this.transactionId = transactionId;
+        }
+
+        public Object getTransactionDate() { return transactionDate; }
+        public long getTransactionId() { return transactionId; }
+    }
+
+    private final List<Transaction> transactions;
+    private final Cursor nextCursor;
+
+    public TransactionPage(List<Transaction> transactions, Cursor nextCursor) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Transaction> getTransactions() { return transactions; }
+
+    // Null when this is the last page
+    public Cursor getNextCursor() { return nextCursor; }
+
+    public boolean hasMore() { return nextCursor != null; }
+}
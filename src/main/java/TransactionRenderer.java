@@ -0,0 +1,84 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Writes transactions straight into a caller's Appendable (a Writer or a
+// StringBuilder) for statements and history views. Dates and amounts are
+// written digit by digit, so rendering a row creates no strings; callers in a
+// loop should reuse one buffer or write to the output directly.
+public final class TransactionRenderer {
+
+    // Only used for years outside 0000-9999, which the digit writer does not handle
+    private static final DateTimeFormatter SECONDS_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter MINUTES_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private TransactionRenderer() {
+    }
+
+    // "[2024-05-01 09:30:00] DEPOSIT: P150.00 | Balance: P1150.00 | Salary",
+    // the line Transaction.toString has always produced
+    public static <A extends Appendable> A appendLine(A out, Transaction transaction) throws IOException {
+        out.append('[');
+        if (transaction.getTimestamp() != null) {
+            appendTimestamp(out, transaction.getTimestamp(), true);
+        } else {
+            out.append("unknown date");
+        }
+        out.append("] ").append(transaction.getTransactionType()).append(": ");
+        appendMoney(out, transaction.getAmount());
+        out.append(" | Balance: ");
+        appendMoney(out, transaction.getBalanceAfter());
+        out.append(" | ").append(transaction.getDescription());
+        return out;
+    }
+
+    public static StringBuilder appendLine(StringBuilder out, Transaction transaction) {
+        try {
+            appendLine((Appendable) out, transaction);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    // "yyyy-MM-dd HH:mm:ss", or "yyyy-MM-dd HH:mm" without seconds
+    public static <A extends Appendable> A appendTimestamp(A out, LocalDateTime timestamp, boolean seconds)
+            throws IOException {
+        int year = timestamp.getYear();
+        if (year < 0 || year > 9999) {
+            (seconds ? SECONDS_FORMAT : MINUTES_FORMAT).formatTo(timestamp, out);
+            return out;
+        }
+        appendTwoDigits(out, year / 100);
+        appendTwoDigits(out, year % 100);
+        out.append('-');
+        appendTwoDigits(out, timestamp.getMonthValue());
+        out.append('-');
+        appendTwoDigits(out, timestamp.getDayOfMonth());
+        out.append(' ');
+        appendTwoDigits(out, timestamp.getHour());
+        out.append(':');
+        appendTwoDigits(out, timestamp.getMinute());
+        if (seconds) {
+            out.append(':');
+            appendTwoDigits(out, timestamp.getSecond());
+        }
+        return out;
+    }
+
+    // Same text as String.valueOf(money)
+    private static void appendMoney(Appendable out, Money money) throws IOException {
+        if (money == null) {
+            out.append("null");
+        } else {
+            Money.appendTo(out, money.getThebe());
+        }
+    }
+
+    private static void appendTwoDigits(Appendable out, int value) throws IOException {
+        out.append((char) ('0' + value / 10));
+        out.append((char) ('0' + value % 10));
+    }
+}
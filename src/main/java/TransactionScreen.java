@@ -6,12 +6,14 @@ import javafx.scene.layout.*;
 import java.util.List;
 
 public class TransactionScreen {
+
+    private static final Log LOG = Log.get("ui.transaction");
+
     private Scene scene;
     private NavigationController navigationController;
     private BankingSystem bankingSystem;
     private String transactionType;
     private AccountDAO accountDAO;
-    private TransactionDAO transactionDAO;
 
     // Form fields
     private ComboBox<String> accountComboBox;
@@ -19,13 +21,15 @@ public class TransactionScreen {
     private TextField signatoryField;
     private TextArea descriptionArea;
     private Label resultLabel;
+    private Button submitButton;
+    private ScreenTasks tasks;
 
     public TransactionScreen(NavigationController navigationController, BankingSystem bankingSystem, String transactionType) {
         this.navigationController = navigationController;
         this.bankingSystem = bankingSystem;
         this.transactionType = transactionType;
         this.accountDAO = new AccountDAO();
-        this.transactionDAO = new TransactionDAO();
+        this.tasks = navigationController.getScreenTasks();
         createUI();
     }
 
@@ -109,7 +113,7 @@ public class TransactionScreen {
         resultLabel.setWrapText(true);
 
         // Submit button
-        Button submitButton = new Button("Process " + transactionType);
+        submitButton = new Button("Process " + transactionType);
         submitButton.getStyleClass().addAll("btn", "btn-primary");
         submitButton.setPrefHeight(45);
         submitButton.setMaxWidth(Double.MAX_VALUE);
@@ -138,16 +142,15 @@ public class TransactionScreen {
     }
 
     private void loadAccounts() {
-        try {
-            List<Account> accounts;
-            if (bankingSystem.getCurrentEmployee() != null) {
+        boolean employee = bankingSystem.getCurrentEmployee() != null;
+        tasks.load(() -> {
+            if (employee) {
                 // Employee can see all accounts
-                accounts = getAllAccounts();
-            } else {
-                // Customer can only see their own accounts
-                accounts = getCurrentCustomerAccounts();
+                return getAllAccounts();
             }
-
+            // Customer can only see their own accounts
+            return getCurrentCustomerAccounts();
+        }, accounts -> {
             accountComboBox.getItems().clear();
             for (Account account : accounts) {
                 String displayText = account.getAccountNumber() + " - " +
@@ -159,9 +162,7 @@ public class TransactionScreen {
             if (!accounts.isEmpty()) {
                 accountComboBox.setValue(accountComboBox.getItems().get(0));
             }
-        } catch (Exception e) {
-            System.out.println("Error loading accounts: " + e.getMessage());
-        }
+        }, error -> LOG.error("Error loading accounts: " + error.getMessage()));
     }
 
     private VBox createAmountInput() {
@@ -208,100 +209,115 @@ public class TransactionScreen {
     }
 
     private void processTransaction() {
-        try {
-            System.out.println("🚀 STARTING TRANSACTION PROCESS...");
+        // Validate inputs
+        if (accountComboBox.getValue() == null) {
+            showAlert(Alert.AlertType.ERROR, "Error", "Please select an account.");
+            return;
+        }
 
-            // Validate inputs
-            if (accountComboBox.getValue() == null) {
-                showAlert(Alert.AlertType.ERROR, "Error", "Please select an account.");
-                return;
-            }
+        if (amountField.getText().isEmpty()) {
+            showAlert(Alert.AlertType.ERROR, "Error", "Please enter an amount.");
+            return;
+        }
 
-            if (amountField.getText().isEmpty()) {
-                showAlert(Alert.AlertType.ERROR, "Error", "Please enter an amount.");
+        // Parse amount
+        Money amount;
+        try {
+            amount = Money.parse(amountField.getText());
+            if (!amount.isPositive()) {
+                showAlert(Alert.AlertType.ERROR, "Error", "Amount must be greater than 0.");
                 return;
             }
+        } catch (NumberFormatException e) {
+            showAlert(Alert.AlertType.ERROR, "Error", "Please enter a valid amount with at most 2 decimal places.");
+            return;
+        }
 
-            // FIXED: Make signatory optional - auto-fill if empty
-            String signatory = signatoryField.getText().trim();
-            if (signatory.isEmpty()) {
-                // Auto-fill with account owner if no signatory provided
-                String accountSelection = accountComboBox.getValue();
-                String accountNumber = accountSelection.split(" - ")[0];
-                String customerId = accountDAO.getCustomerIdForAccount(accountNumber);
-
-                if (customerId != null) {
-                    CustomerDAO customerDAO = new CustomerDAO();
-                    Customer customer = customerDAO.getCustomerById(customerId);
-                    signatory = customer != null ? customer.getDisplayName() : "Account Owner";
-                    System.out.println("✅ Auto-filled signatory: " + signatory);
-                } else {
-                    signatory = "Account Owner";
-                }
-            }
+        // FIXED: Use case-insensitive comparison
+        boolean deposit = transactionType.equalsIgnoreCase("Deposit");
+        boolean withdrawal = transactionType.equalsIgnoreCase("Withdraw") || transactionType.equalsIgnoreCase("Withdrawal");
+        if (!deposit && !withdrawal) {
+            LOG.warn("Unknown transaction type: " + transactionType);
+            showAlert(Alert.AlertType.ERROR, "Error", "Unknown transaction type: " + transactionType);
+            return;
+        }
 
-            // Parse amount
-            double amount;
-            try {
-                amount = Double.parseDouble(amountField.getText());
-                if (amount <= 0) {
-                    showAlert(Alert.AlertType.ERROR, "Error", "Amount must be greater than 0.");
-                    return;
-                }
-            } catch (NumberFormatException e) {
-                showAlert(Alert.AlertType.ERROR, "Error", "Please enter a valid amount.");
-                return;
-            }
+        // Extract account number from selection
+        String accountSelection = accountComboBox.getValue();
+        String accountNumber = accountSelection.split(" - ")[0];
+        String description = descriptionArea.getText().trim();
+        String signatory = signatoryField.getText().trim();
+
+        // The posting runs on the database writer; the button stays disabled until it is done
+        submitButton.setDisable(true);
+        resultLabel.setStyle("");
+        resultLabel.setText("Processing...");
+
+        tasks.onFx(tasks.write(() -> post(accountNumber, amount, signatory, description, deposit)),
+                result -> {
+                    submitButton.setDisable(false);
+                    showPostingResult(result, amount, deposit);
+                },
+                error -> {
+                    submitButton.setDisable(false);
+                    resultLabel.setText("");
+                    showAlert(Alert.AlertType.ERROR, "Error", "Failed to process transaction: " + error.getMessage());
+                    LOG.error("Failed to process transaction: " + error.getMessage(), error);
+                });
+    }
 
-            // Extract account number from selection
-            String accountSelection = accountComboBox.getValue();
-            String accountNumber = accountSelection.split(" - ")[0];
-            String description = descriptionArea.getText().trim();
-
-            System.out.println("🔍 TRANSACTION DETAILS:");
-            System.out.println("Account: " + accountNumber);
-            System.out.println("Type: " + transactionType);
-            System.out.println("Amount: " + amount);
-            System.out.println("Signatory: " + signatory);
-            System.out.println("Description: " + description);
-
-            boolean success = false;
-            String message = "";
-
-            // FIXED: Use case-insensitive comparison
-            if (transactionType.equalsIgnoreCase("Deposit")) {
-                System.out.println("💰 PROCESSING DEPOSIT...");
-                success = depositToAccount(accountNumber, amount, signatory, description);
-                message = success ? "Deposit successful!" : "Deposit failed!";
-            } else if (transactionType.equalsIgnoreCase("Withdraw") || transactionType.equalsIgnoreCase("Withdrawal")) {
-                System.out.println("💸 PROCESSING WITHDRAWAL...");
-                success = withdrawFromAccount(accountNumber, amount, signatory, description);
-                message = success ? "Withdrawal successful!" : "Withdrawal failed!";
-            } else {
-                System.out.println("❌ Unknown transaction type: " + transactionType);
-                showAlert(Alert.AlertType.ERROR, "Error", "Unknown transaction type: " + transactionType);
-                return;
-            }
+    // Runs on the database writer thread
+    private PostingService.PostingResult post(String accountNumber, Money amount, String signatory,
+                                              String description, boolean deposit) {
+        // FIXED: Make signatory optional - auto-fill if empty
+        if (signatory.isEmpty()) {
+            signatory = resolveAccountOwner(accountNumber);
+        }
 
-            if (success) {
-                resultLabel.setStyle("-fx-text-fill: green;");
-                resultLabel.setText(message);
+        String signedBy = signatory;
+        LOG.debug(() -> "Processing " + transactionType + " of " + amount + " on " + accountNumber +
+                ", signatory " + signedBy + " (" + description + ")");
 
-                // Clear form for next transaction
-                amountField.clear();
-                descriptionArea.clear();
-                signatoryField.clear(); // Clear the signatory field too
+        if (deposit) {
+            return depositToAccount(accountNumber, amount, signatory, description);
+        }
+        return withdrawFromAccount(accountNumber, amount, signatory, description);
+    }
 
-                // Reload accounts to show updated balances
-                loadAccounts();
-            } else {
-                resultLabel.setStyle("-fx-text-fill: red;");
-                resultLabel.setText(message);
-            }
+    // Auto-fill with account owner if no signatory provided
+    private String resolveAccountOwner(String accountNumber) {
+        String customerId = accountDAO.getCustomerIdForAccount(accountNumber);
+        if (customerId == null) {
+            return "Account Owner";
+        }
+        CustomerDAO customerDAO = new CustomerDAO();
+        Customer customer = customerDAO.getCustomerById(customerId);
+        String signatory = customer != null ? customer.getDisplayName() : "Account Owner";
+        LOG.debug(() -> "Auto-filled signatory: " + signatory);
+        return signatory;
+    }
+
+    private void showPostingResult(PostingService.PostingResult result, Money amount, boolean deposit) {
+        if (result.isPosted()) {
+            resultLabel.setStyle("-fx-text-fill: green;");
+            resultLabel.setText(deposit ? "Deposit successful!" : "Withdrawal successful!");
+
+            // Clear form for next transaction
+            amountField.clear();
+            descriptionArea.clear();
+            signatoryField.clear(); // Clear the signatory field too
+
+            // Reload accounts to show updated balances
+            loadAccounts();
+            return;
+        }
 
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to process transaction: " + e.getMessage());
-            e.printStackTrace();
+        resultLabel.setStyle("-fx-text-fill: red;");
+        resultLabel.setText(deposit ? "Deposit failed!" : "Withdrawal failed!");
+        if (result.getStatus() == PostingService.Status.INSUFFICIENT_FUNDS) {
+            showAlert(Alert.AlertType.ERROR, "Insufficient Funds",
+                    "Account balance: " + result.getBalance() +
+                            "\nWithdrawal amount: " + amount);
         }
     }
 
@@ -317,101 +333,30 @@ public class TransactionScreen {
         return accountDAO.getAllAccounts();
     }
 
-    private boolean depositToAccount(String accountNumber, double amount, String signatory, String description) {
-        try {
-            Account account = accountDAO.getAccountByNumber(accountNumber);
-            if (account == null) {
-                System.out.println("❌ Account not found: " + accountNumber);
-                return false;
-            }
+    private PostingService.PostingResult depositToAccount(String accountNumber, Money amount, String signatory, String description) {
+        String text = description != null && !description.isEmpty() ? description : "Deposit authorized by: " + signatory;
+        PostingService.PostingResult result = bankingSystem.getPostingService().deposit(accountNumber, amount, text);
 
-            System.out.println("Current balance: " + account.getBalance());
-            System.out.println("Deposit amount: " + amount);
-
-            // Update balance
-            double newBalance = account.getBalance() + amount;
-            boolean balanceUpdated = accountDAO.updateAccountBalance(accountNumber, newBalance);
-
-            System.out.println("Balance update result: " + balanceUpdated);
-            System.out.println("New balance: " + newBalance);
-
-            if (balanceUpdated) {
-                // Record transaction
-                Transaction transaction = new Transaction(
-                        accountNumber,
-                        "DEPOSIT",
-                        amount,
-                        newBalance,
-                        description != null && !description.isEmpty() ? description : "Deposit authorized by: " + signatory
-                );
-                boolean transactionRecorded = transactionDAO.recordTransaction(transaction);
-                System.out.println("Transaction recorded: " + transactionRecorded);
-                return transactionRecorded;
-            }
-        } catch (Exception e) {
-            System.out.println("❌ Error processing deposit: " + e.getMessage());
-            e.printStackTrace();
+        if (result.isPosted()) {
+            LOG.debug(() -> "Deposit successful: " + amount + " to " + accountNumber + ", new balance " + result.getBalance());
+        } else {
+            LOG.info("Deposit failed: " + result.getMessage());
         }
-        return false;
+        return result;
     }
 
-    private boolean withdrawFromAccount(String accountNumber, double amount, String signatory, String description) {
-        try {
-            Account account = accountDAO.getAccountByNumber(accountNumber);
-            if (account == null) {
-                System.out.println("❌ Account not found: " + accountNumber);
-                return false;
-            }
-
-            System.out.println("Current balance: " + account.getBalance());
-            System.out.println("Withdrawal amount: " + amount);
-
-            // Check sufficient funds
-            if (account.getBalance() < amount) {
-                System.out.println("❌ Insufficient funds! Balance: " + account.getBalance() + ", Required: " + amount);
-                showAlert(Alert.AlertType.ERROR, "Insufficient Funds",
-                        "Account balance: " + account.getFormattedBalance() +
-                                "\nWithdrawal amount: P" + String.format("%.2f", amount));
-                return false;
-            }
+    private PostingService.PostingResult withdrawFromAccount(String accountNumber, Money amount, String signatory, String description) {
+        String text = description != null && !description.isEmpty() ? description : "Withdrawal authorized by: " + signatory;
+        PostingService.PostingResult result = bankingSystem.getPostingService().withdraw(accountNumber, amount, text);
 
-            System.out.println("✅ Sufficient funds available");
-
-            // Update balance
-            double newBalance = account.getBalance() - amount;
-            boolean balanceUpdated = accountDAO.updateAccountBalance(accountNumber, newBalance);
-
-            System.out.println("Balance update result: " + balanceUpdated);
-            System.out.println("New balance: " + newBalance);
-
-            if (balanceUpdated) {
-                // Record transaction
-                Transaction transaction = new Transaction(
-                        accountNumber,
-                        "WITHDRAWAL",
-                        amount,
-                        newBalance,
-                        description != null && !description.isEmpty() ? description : "Withdrawal authorized by: " + signatory
-                );
-                boolean transactionRecorded = transactionDAO.recordTransaction(transaction);
-
-                if (transactionRecorded) {
-                    System.out.println("✅ Withdrawal successful: " + amount + " from " + accountNumber);
-                    return true;
-                } else {
-                    // If transaction recording failed, revert the balance
-                    System.out.println("❌ Failed to record transaction - reverting balance");
-                    accountDAO.updateAccountBalance(accountNumber, account.getBalance());
-                    return false;
-                }
-            } else {
-                System.out.println("❌ Balance update failed");
-            }
-        } catch (Exception e) {
-            System.out.println("❌ Error processing withdrawal: " + e.getMessage());
-            e.printStackTrace();
+        if (result.isPosted()) {
+            LOG.debug(() -> "Withdrawal successful: " + amount + " from " + accountNumber + ", new balance " + result.getBalance());
+        } else if (result.getStatus() == PostingService.Status.INSUFFICIENT_FUNDS) {
+            LOG.info("Insufficient funds on " + accountNumber + ": balance " + result.getBalance() + ", required " + amount);
+        } else {
+            LOG.info("Withdrawal failed: " + result.getMessage());
         }
-        return false;
+        return result;
     }
 
     private void showAlert(Alert.AlertType type, String title, String message) {